@@ -0,0 +1,88 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeTable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.stereotype.Component;
+
+/**
+ * Id to name lookup for every employee seen upstream. The upstream deletes by name, so resolving an id locally saves a
+ * {@code GET} per delete. Unlike {@link EmployeeSnapshotCache} entries do not expire: they are replaced on every full
+ * list fetch and kept current by creates and deletes in between.
+ *
+ * <p>The employees are held in an {@link EmployeeTable} rather than as strings per employee; after a full fetch it is
+ * the new snapshot's own table, so the two share their rows until either is compacted.
+ */
+@Component
+public class EmployeeNameRegistry {
+
+    private final AtomicReference<EmployeeTable> employees = new AtomicReference<>(EmployeeTable.of(List.of()));
+
+    /**
+     * Replaces the registry contents with a freshly fetched employee list.
+     */
+    public void replaceAll(List<Employee> employees) {
+        this.employees.set(EmployeeTable.of(employees));
+    }
+
+    /**
+     * Replaces the registry contents with the employees of a snapshot built from a full fetch, sharing its table.
+     */
+    public void replaceAll(EmployeeSnapshot snapshot) {
+        employees.set(snapshot.table());
+    }
+
+    public void register(Employee employee) {
+        update(List.of(employee), List.of());
+    }
+
+    /**
+     * Registers {@code created} and removes {@code deletedIds} in one step, as for a batch of the upstream change feed.
+     */
+    public void update(List<Employee> created, Collection<String> deletedIds) {
+        employees.updateAndGet(table -> {
+            BitSet removed = new BitSet();
+            List<Employee> appended = new ArrayList<>(created.size());
+            for (String id : deletedIds) {
+                int row = table.rowOf(id);
+                if (row >= 0) {
+                    removed.set(row);
+                }
+            }
+            for (Employee employee : created) {
+                if (employee.getId() == null || employee.getName() == null) {
+                    continue;
+                }
+                int row = table.rowOf(employee.getId());
+                if (row >= 0 && !removed.get(row) && Objects.equals(table.name(row), employee.getName())) {
+                    continue;
+                }
+                if (row >= 0) {
+                    removed.set(row);
+                }
+                appended.add(employee);
+            }
+            return table.withChanges(removed, appended);
+        });
+    }
+
+    public Optional<String> nameOf(String id) {
+        EmployeeTable table = employees.get();
+        int row = table.rowOf(id);
+        return row < 0 ? Optional.empty() : Optional.ofNullable(table.name(row));
+    }
+
+    public void remove(String id) {
+        update(List.of(), List.of(id));
+    }
+
+    public int size() {
+        return employees.get().size();
+    }
+}
@@ -0,0 +1,332 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.index.NameSearchIndex;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeTable;
+import java.lang.ref.SoftReference;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Immutable, versioned view of the employee list as last seen upstream. Every change to the employee set (a refresh
+ * that returned new data, a create or a delete) produces a new snapshot with a higher version; readers holding an
+ * older snapshot keep a consistent view.
+ *
+ * <p>The employees are held column-wise in an {@link EmployeeTable}, and the indexes refer to its rows, so a snapshot
+ * retains no {@link Employee} objects; those returned from it are created per call. A snapshot derived from another
+ * shares the bulk of its table, and patches its predecessor's salary and name indexes rather than rebuilding them
+ * unless the table was compacted in between.
+ */
+public final class EmployeeSnapshot {
+
+    /**
+     * Upstream change feed position of a snapshot whose listing did not report one.
+     */
+    public static final long UNKNOWN_SEQUENCE = -1;
+
+    // Beyond this many changes in one batch, rebuilding the salary index lazily is cheaper than
+    // patching it per change.
+    private static final int INCREMENTAL_SALARY_UPDATES = 32;
+
+    private final long version;
+    private final Instant fetchedAt;
+    private final EmployeeTable table;
+    private final long upstreamSequence;
+
+    private volatile NameSearchIndex nameSearchIndex;
+    private volatile SalaryIndex salaryIndex;
+
+    // Response bodies encoded from this snapshot's employees; shared with snapshots holding the same employees. Held
+    // softly: a large listing is worth keeping between requests, but not at the cost of running out of heap.
+    private final ConcurrentMap<String, SoftReference<byte[]>> encodedResponses;
+
+    private EmployeeSnapshot(
+            long version,
+            Instant fetchedAt,
+            EmployeeTable table,
+            NameSearchIndex nameSearchIndex,
+            SalaryIndex salaryIndex,
+            long upstreamSequence) {
+        this.version = version;
+        this.fetchedAt = fetchedAt;
+        this.table = table;
+        this.nameSearchIndex = nameSearchIndex;
+        this.salaryIndex = salaryIndex;
+        this.upstreamSequence = upstreamSequence;
+        this.encodedResponses = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Same employees as {@code source}, re-stamped after a sync that found nothing new; the lookup indexes already
+     * built for {@code source} are shared rather than rebuilt.
+     */
+    private EmployeeSnapshot(EmployeeSnapshot source, Instant fetchedAt, long upstreamSequence) {
+        this.version = source.version;
+        this.fetchedAt = fetchedAt;
+        this.table = source.table;
+        this.upstreamSequence = upstreamSequence;
+        this.nameSearchIndex = source.nameSearchIndex;
+        this.salaryIndex = source.salaryIndex;
+        this.encodedResponses = source.encodedResponses;
+    }
+
+    /**
+     * Creates the snapshot that follows {@code previous} (which may be {@code null} for the first load).
+     */
+    public static EmployeeSnapshot next(EmployeeSnapshot previous, List<Employee> employees, Instant fetchedAt) {
+        return next(previous, employees, fetchedAt, UNKNOWN_SEQUENCE);
+    }
+
+    /**
+     * Like {@link #next(EmployeeSnapshot, List, Instant)} for a listing that reflects the upstream change feed up to
+     * {@code upstreamSequence}.
+     */
+    public static EmployeeSnapshot next(
+            EmployeeSnapshot previous, List<Employee> employees, Instant fetchedAt, long upstreamSequence) {
+        long version = previous == null ? 1 : previous.version + 1;
+        EmployeeTable table = EmployeeTable.of(employees);
+        return new EmployeeSnapshot(version, fetchedAt, table, null, buildSalaryIndex(table), upstreamSequence);
+    }
+
+    /**
+     * Applies a batch from the upstream change feed. Creates of employees already present (for instance made through
+     * this api) and deletes of employees already gone are skipped, so replaying an overlapping batch is harmless.
+     * When nothing changes the snapshot keeps its version and only its fetch time and feed position move on.
+     */
+    public EmployeeSnapshot withChanges(
+            List<Employee> created, Collection<String> deletedIds, Instant syncedAt, long upstreamSequence) {
+        Set<String> deletedInBatch = new HashSet<>(deletedIds);
+        BitSet deletedRows = new BitSet(table.size());
+        for (String id : deletedInBatch) {
+            int row = table.rowOf(id);
+            if (row >= 0) {
+                deletedRows.set(row);
+            }
+        }
+        Map<String, Employee> added = new LinkedHashMap<>();
+        for (Employee employee : created) {
+            if (!deletedInBatch.contains(employee.getId()) && table.rowOf(employee.getId()) < 0) {
+                added.put(employee.getId(), employee);
+            }
+        }
+        if (deletedRows.isEmpty() && added.isEmpty()) {
+            return new EmployeeSnapshot(this, syncedAt, upstreamSequence);
+        }
+
+        EmployeeTable updated = table.withChanges(deletedRows, new ArrayList<>(added.values()));
+        SalaryIndex salaries = salaryIndex;
+        if (salaries != null
+                && updated.keepsRowsOf(table)
+                && deletedRows.cardinality() + added.size() <= INCREMENTAL_SALARY_UPDATES) {
+            for (int row = deletedRows.nextSetBit(0); row >= 0; row = deletedRows.nextSetBit(row + 1)) {
+                salaries = salaries.withRemoved(row, table.salary(row));
+            }
+            for (int row = table.rowCount(); row < updated.rowCount(); row++) {
+                salaries = salaries.withAdded(row, updated.salary(row));
+            }
+        } else {
+            salaries = null;
+        }
+        return successor(syncedAt, updated, salaries, upstreamSequence);
+    }
+
+    public EmployeeSnapshot withAdded(Employee employee) {
+        EmployeeTable updated = table.withChanges(new BitSet(), List.of(employee));
+        SalaryIndex salaries = salaryIndex;
+        return successor(
+                fetchedAt,
+                updated,
+                salaries == null || !updated.keepsRowsOf(table)
+                        ? null
+                        : salaries.withAdded(table.rowCount(), employee.getSalary()),
+                upstreamSequence);
+    }
+
+    public EmployeeSnapshot withRemoved(String id) {
+        int row = table.rowOf(id);
+        if (row < 0) {
+            return this;
+        }
+        BitSet removed = new BitSet(table.rowCount());
+        removed.set(row);
+        EmployeeTable updated = table.withChanges(removed, List.of());
+        SalaryIndex salaries = salaryIndex;
+        return successor(
+                fetchedAt,
+                updated,
+                salaries == null || !updated.keepsRowsOf(table) ? null : salaries.withRemoved(row, table.salary(row)),
+                upstreamSequence);
+    }
+
+    /**
+     * The next version, holding {@code updated}. The name index, if built, is carried over and extended with the rows
+     * {@code updated} appended; deleted rows need no change as searches skip them. If the table was compacted in
+     * between, the rows were renumbered and the index is left to be rebuilt.
+     */
+    private EmployeeSnapshot successor(
+            Instant fetchedAt, EmployeeTable updated, SalaryIndex salaries, long upstreamSequence) {
+        NameSearchIndex names = nameSearchIndex;
+        if (names != null && updated.keepsRowsOf(table)) {
+            names = names.withRows(updated.rowCount(), row -> liveName(updated, row));
+        } else {
+            names = null;
+        }
+        return new EmployeeSnapshot(version + 1, fetchedAt, updated, names, salaries, upstreamSequence);
+    }
+
+    EmployeeSnapshot renumber(long newVersion) {
+        return newVersion == version
+                ? this
+                : new EmployeeSnapshot(newVersion, fetchedAt, table, nameSearchIndex, salaryIndex, upstreamSequence);
+    }
+
+    public Optional<Employee> findById(String id) {
+        int row = table.rowOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(table.get(row));
+    }
+
+    /**
+     * Employees whose name contains {@code fragment}, ignoring case, in snapshot order. The name index is built on the
+     * first search and then carried forward by later snapshots, so creates and deletes between searches cost their own
+     * names' trigrams rather than a rebuild.
+     */
+    public List<Employee> searchByName(String fragment) {
+        int[] rows = nameSearchIndex().search(fragment, row -> liveName(table, row));
+        List<Employee> matches = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            matches.add(table.get(row));
+        }
+        return matches;
+    }
+
+    private NameSearchIndex nameSearchIndex() {
+        NameSearchIndex index = nameSearchIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = nameSearchIndex;
+                if (index == null) {
+                    index = NameSearchIndex.build(table.rowCount(), row -> liveName(table, row));
+                    nameSearchIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * The name of {@code row} as the name index reads it: {@code null} once the row is deleted, and empty for an
+     * employee without one.
+     */
+    private static String liveName(EmployeeTable table, int row) {
+        if (!table.isLive(row)) {
+            return null;
+        }
+        String name = table.name(row);
+        return name == null ? "" : name;
+    }
+
+    /**
+     * @return the highest salary, or {@code 0} when the snapshot is empty
+     */
+    public int highestSalary() {
+        return salaryIndex().highestSalary();
+    }
+
+    /**
+     * The {@code limit} highest earners, highest first; employees on equal salaries keep snapshot order.
+     */
+    public List<Employee> topEarners(int limit) {
+        int[] rows = salaryIndex().topRows(limit);
+        List<Employee> top = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            top.add(table.get(row));
+        }
+        return top;
+    }
+
+    private SalaryIndex salaryIndex() {
+        SalaryIndex index = salaryIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = salaryIndex;
+                if (index == null) {
+                    index = buildSalaryIndex(table);
+                    salaryIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private static SalaryIndex buildSalaryIndex(EmployeeTable table) {
+        return SalaryIndex.build(table.rowCount(), table::isLive, table::salary);
+    }
+
+    /**
+     * The response body stored under {@code key}, encoded by {@code encoder} on first use and then reused until the
+     * employees change, or until the garbage collector reclaims it under memory pressure. The encoder must depend on
+     * nothing but this snapshot's employees.
+     */
+    public byte[] encodedResponse(String key, Supplier<byte[]> encoder) {
+        byte[] encoded = dereference(encodedResponses.get(key));
+        if (encoded != null) {
+            return encoded;
+        }
+        // Re-encode in place of a cleared reference; concurrent callers still share one encoding.
+        SoftReference<byte[]> stored = encodedResponses.compute(
+                key, (k, current) -> dereference(current) != null ? current : new SoftReference<>(encoder.get()));
+        encoded = stored.get();
+        return encoded != null ? encoded : encoder.get();
+    }
+
+    private static byte[] dereference(SoftReference<byte[]> reference) {
+        return reference == null ? null : reference.get();
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(fetchedAt, now);
+    }
+
+    /**
+     * @return the upstream change feed position this snapshot reflects, or {@link #UNKNOWN_SEQUENCE}
+     */
+    public long upstreamSequence() {
+        return upstreamSequence;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant fetchedAt() {
+        return fetchedAt;
+    }
+
+    /**
+     * Every employee in snapshot order, each created as it is read.
+     */
+    public List<Employee> employees() {
+        return table.asList();
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    EmployeeTable table() {
+        return table;
+    }
+}
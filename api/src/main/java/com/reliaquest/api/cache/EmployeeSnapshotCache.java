@@ -0,0 +1,272 @@
+package com.reliaquest.api.cache;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link EmployeeSnapshot} and decides when it has to be refreshed from upstream.
+ *
+ * <ul>
+ *   <li>younger than {@code ttl}: served as is;</li>
+ *   <li>younger than {@code ttl + staleWhileRevalidate}: served as is while a single background refresh runs;</li>
+ *   <li>older, or missing: the caller refreshes synchronously. If that refresh fails and a snapshot exists, the stale
+ *   snapshot is served rather than failing the request.</li>
+ * </ul>
+ *
+ * <p>{@link #getAsync} applies the same policy to refreshers that complete asynchronously, so non-blocking callers
+ * never wait on a thread for upstream.
+ */
+@Component
+public class EmployeeSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSnapshotCache.class);
+
+    private final Duration ttl;
+    private final Duration staleWhileRevalidate;
+    private final Clock clock;
+    private final ExecutorService refreshExecutor;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean backgroundRefreshRunning = new AtomicBoolean();
+    private final AtomicReference<CompletableFuture<EmployeeSnapshot>> asyncRefresh = new AtomicReference<>();
+
+    @Autowired
+    public EmployeeSnapshotCache(
+            @Value("${employee.api.cache.ttl:30s}") Duration ttl,
+            @Value("${employee.api.cache.stale-while-revalidate:5m}") Duration staleWhileRevalidate,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(ttl, staleWhileRevalidate, Clock.systemUTC(), virtualThreads);
+    }
+
+    public EmployeeSnapshotCache(Duration ttl, Duration staleWhileRevalidate, Clock clock) {
+        this(ttl, staleWhileRevalidate, clock, false);
+    }
+
+    /**
+     * @param virtualThreads run background refreshes on a virtual thread, like request handling when
+     *     {@code spring.threads.virtual.enabled} is set, instead of a dedicated platform thread
+     */
+    public EmployeeSnapshotCache(Duration ttl, Duration staleWhileRevalidate, Clock clock, boolean virtualThreads) {
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.clock = clock;
+        // At most one background refresh runs at a time, so a single thread is all either kind needs.
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("employee-snapshot-refresh").factory()
+                : Thread.ofPlatform().name("employee-snapshot-refresh").daemon().factory();
+        this.refreshExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Returns a snapshot that is fresh enough to serve, refreshing it with {@code refresher} when needed. The
+     * refresher receives the current snapshot (or {@code null}) and returns its successor.
+     */
+    public EmployeeSnapshot get(UnaryOperator<EmployeeSnapshot> refresher) {
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return refresh(refresher);
+        }
+        Duration age = snapshot.age(clock.instant());
+        if (age.compareTo(ttl) < 0) {
+            return snapshot;
+        }
+        if (age.compareTo(ttl.plus(staleWhileRevalidate)) < 0) {
+            refreshInBackground(refresher);
+            return snapshot;
+        }
+        try {
+            return refresh(refresher);
+        } catch (RuntimeException e) {
+            logger.warn("Refreshing employee snapshot failed, serving version {} aged {}", snapshot.version(), age, e);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Like {@link #get}, for a refresher that returns a future instead of blocking. Concurrent callers needing a
+     * refresh share one call to {@code refresher}; a background refresh runs on whatever completes its future rather
+     * than on this cache's refresh thread.
+     */
+    public CompletableFuture<EmployeeSnapshot> getAsync(
+            Function<EmployeeSnapshot, CompletableFuture<EmployeeSnapshot>> refresher) {
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return refreshAsync(refresher);
+        }
+        Duration age = snapshot.age(clock.instant());
+        if (age.compareTo(ttl) < 0) {
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        if (age.compareTo(ttl.plus(staleWhileRevalidate)) < 0) {
+            refreshAsync(refresher).exceptionally(e -> {
+                logger.warn("Background refresh of employee snapshot failed", e);
+                return null;
+            });
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        return refreshAsync(refresher).exceptionally(e -> {
+            logger.warn("Refreshing employee snapshot failed, serving version {} aged {}", snapshot.version(), age, e);
+            return snapshot;
+        });
+    }
+
+    /**
+     * Refreshes the snapshot now, unless it was fetched less than {@code minAge} ago, for callers that found it
+     * missing data they expected. If the refresh fails the current snapshot is served, as in {@link #get}.
+     */
+    public EmployeeSnapshot refreshIfOlderThan(Duration minAge, UnaryOperator<EmployeeSnapshot> refresher) {
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot != null && snapshot.age(clock.instant()).compareTo(minAge) < 0) {
+            return snapshot;
+        }
+        try {
+            return refresh(refresher);
+        } catch (RuntimeException e) {
+            if (snapshot == null) {
+                throw e;
+            }
+            logger.warn("Refreshing employee snapshot failed, serving version {}", snapshot.version(), e);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Like {@link #refreshIfOlderThan}, for a refresher that returns a future instead of blocking.
+     */
+    public CompletableFuture<EmployeeSnapshot> refreshIfOlderThanAsync(
+            Duration minAge, Function<EmployeeSnapshot, CompletableFuture<EmployeeSnapshot>> refresher) {
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot != null && snapshot.age(clock.instant()).compareTo(minAge) < 0) {
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        CompletableFuture<EmployeeSnapshot> refreshed = refreshAsync(refresher);
+        if (snapshot == null) {
+            return refreshed;
+        }
+        return refreshed.exceptionally(e -> {
+            logger.warn("Refreshing employee snapshot failed, serving version {}", snapshot.version(), e);
+            return snapshot;
+        });
+    }
+
+    /**
+     * Returns the current snapshot without triggering a refresh, as long as it is still within the serveable window.
+     */
+    public Optional<EmployeeSnapshot> peek() {
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot == null || snapshot.age(clock.instant()).compareTo(ttl.plus(staleWhileRevalidate)) >= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Number of employees in the current snapshot, whether or not it is still serveable; {@code 0} before the first
+     * fetch.
+     */
+    public int cachedEmployeeCount() {
+        EmployeeSnapshot snapshot = current.get();
+        return snapshot == null ? 0 : snapshot.size();
+    }
+
+    /**
+     * Age of the current snapshot, whether or not it is still serveable.
+     */
+    public Optional<Duration> snapshotAge() {
+        EmployeeSnapshot snapshot = current.get();
+        return snapshot == null ? Optional.empty() : Optional.of(snapshot.age(clock.instant()));
+    }
+
+    /**
+     * Applies a local change (create, delete) to the current snapshot, if there is one.
+     */
+    public void update(UnaryOperator<EmployeeSnapshot> mutation) {
+        current.updateAndGet(snapshot -> snapshot == null ? null : mutation.apply(snapshot));
+    }
+
+    public void invalidate() {
+        current.set(null);
+    }
+
+    private EmployeeSnapshot refresh(UnaryOperator<EmployeeSnapshot> refresher) {
+        EmployeeSnapshot previous = current.get();
+        return install(previous, refresher.apply(previous));
+    }
+
+    private CompletableFuture<EmployeeSnapshot> refreshAsync(
+            Function<EmployeeSnapshot, CompletableFuture<EmployeeSnapshot>> refresher) {
+        CompletableFuture<EmployeeSnapshot> promise = new CompletableFuture<>();
+        CompletableFuture<EmployeeSnapshot> running = asyncRefresh.compareAndExchange(null, promise);
+        if (running != null) {
+            return running;
+        }
+        EmployeeSnapshot previous = current.get();
+        CompletableFuture<EmployeeSnapshot> call;
+        try {
+            call = refresher.apply(previous);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((refreshed, error) -> {
+            // Let the next caller start a new refresh before anyone waiting on this one runs.
+            asyncRefresh.set(null);
+            if (error != null) {
+                promise.completeExceptionally(error);
+                return;
+            }
+            try {
+                promise.complete(install(previous, refreshed));
+            } catch (RuntimeException e) {
+                promise.completeExceptionally(e);
+            }
+        });
+        return promise;
+    }
+
+    private EmployeeSnapshot install(EmployeeSnapshot previous, EmployeeSnapshot refreshed) {
+        // Upstream is authoritative, but a create or delete applied while the fetch was in flight has already
+        // consumed the next version number; renumber so versions stay strictly increasing.
+        EmployeeSnapshot installed = current.updateAndGet(latest -> latest == previous
+                        || latest == null
+                        || latest == refreshed
+                ? refreshed
+                : refreshed.renumber(Math.max(refreshed.version(), latest.version() + 1)));
+        logger.info("Employee snapshot refreshed to version {} with {} employees", installed.version(), installed.size());
+        return installed;
+    }
+
+    private void refreshInBackground(UnaryOperator<EmployeeSnapshot> refresher) {
+        if (!backgroundRefreshRunning.compareAndSet(false, true)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                refresh(refresher);
+            } catch (RuntimeException e) {
+                logger.warn("Background refresh of employee snapshot failed", e);
+            } finally {
+                backgroundRefreshRunning.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
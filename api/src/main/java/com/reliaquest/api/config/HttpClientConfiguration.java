@@ -0,0 +1,118 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.metrics.EmployeeApiMetrics;
+import com.reliaquest.api.metrics.UpstreamMetricsInterceptor;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import com.reliaquest.api.upstream.RateLimitHeadersInterceptor;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Upstream HTTP client: a pooled, keep-alive Apache HttpClient with bounded connect, read and pool-acquire timeouts,
+ * so a slow mock server cannot hold Tomcat worker threads indefinitely.
+ *
+ * <p>With {@code employee.api.http-client.compression} it sends {@code Accept-Encoding: gzip, deflate} and inflates
+ * the response stream as it is read, so the streaming decoders work as before on far fewer bytes from the network.
+ *
+ * <p>Not created with {@code employee.api.reactive.enabled}, where {@link ReactiveClientConfiguration} provides the
+ * upstream client and nothing uses this one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.api.reactive.enabled", havingValue = "false", matchIfMissing = true)
+public class HttpClientConfiguration {
+
+    private final int maxConnectionsTotal;
+    private final int maxConnectionsPerRoute;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration poolAcquireTimeout;
+    private final Duration keepAlive;
+    private final Duration idleEviction;
+    private final boolean compression;
+
+    public HttpClientConfiguration(
+            @Value("${employee.api.http-client.max-connections-total:50}") int maxConnectionsTotal,
+            @Value("${employee.api.http-client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${employee.api.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${employee.api.http-client.read-timeout:5s}") Duration readTimeout,
+            @Value("${employee.api.http-client.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${employee.api.http-client.keep-alive:15s}") Duration keepAlive,
+            @Value("${employee.api.http-client.idle-eviction:10s}") Duration idleEviction,
+            @Value("${employee.api.http-client.compression:true}") boolean compression) {
+        this.maxConnectionsTotal = maxConnectionsTotal;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.poolAcquireTimeout = poolAcquireTimeout;
+        this.keepAlive = keepAlive;
+        this.idleEviction = idleEviction;
+        this.compression = compression;
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManager upstreamConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnectionsTotal)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        // Tomcat drops idle keep-alive connections after 20s by default; re-validate before reuse.
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public MeterBinder upstreamConnectionPoolMetrics(PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(upstreamConnectionManager, "employee-upstream");
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        HttpClientBuilder builder = HttpClients.custom();
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+        return builder
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAlive.toMillis()))
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(
+            RestTemplateBuilder restTemplateBuilder,
+            CloseableHttpClient upstreamHttpClient,
+            AdaptiveRateLimiter rateLimiter,
+            EmployeeApiMetrics metrics) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(upstreamHttpClient))
+                .additionalInterceptors(
+                        new UpstreamMetricsInterceptor(metrics), new RateLimitHeadersInterceptor(rateLimiter))
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.metrics.EmployeeApiMetrics;
+import com.reliaquest.api.metrics.UpstreamMetricsFilter;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import com.reliaquest.api.upstream.RateLimitHeadersFilter;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking upstream client for {@code employee.api.reactive.enabled}: a {@link WebClient} on Reactor Netty, whose
+ * few event-loop threads multiplex every in-flight call. The pool and timeouts reuse the {@code http-client}
+ * settings of {@link HttpClientConfiguration}; callers waiting for a connection queue without holding a thread, up to
+ * {@code max-pending-acquires}, after which they fail fast. Like the blocking client it negotiates gzip when
+ * {@code compression} is set; {@code max-response-size} applies to the inflated body.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.api.reactive.enabled", havingValue = "true")
+public class ReactiveClientConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(
+            @Value("${employee.api.http-client.max-connections-total:50}") int maxConnectionsTotal,
+            @Value("${employee.api.http-client.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${employee.api.http-client.keep-alive:15s}") Duration keepAlive,
+            @Value("${employee.api.http-client.idle-eviction:10s}") Duration idleEviction,
+            @Value("${employee.api.reactive.max-pending-acquires:1000}") int maxPendingAcquires) {
+        return ConnectionProvider.builder("employee-upstream")
+                .maxConnections(maxConnectionsTotal)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .maxIdleTime(keepAlive)
+                .evictInBackground(idleEviction)
+                .build();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider upstreamConnectionProvider,
+            @Value("${employee.api.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${employee.api.http-client.read-timeout:5s}") Duration readTimeout,
+            @Value("${employee.api.http-client.compression:true}") boolean compression,
+            AdaptiveRateLimiter rateLimiter,
+            EmployeeApiMetrics metrics) {
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(compression);
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(new UpstreamMetricsFilter(metrics))
+                .filter(new RateLimitHeadersFilter(rateLimiter))
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.config;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically reports the upstream connection pool, warning when callers are queueing for a connection.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.api.reactive.enabled", havingValue = "false", matchIfMissing = true)
+public class UpstreamConnectionPoolMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamConnectionPoolMonitor.class);
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    @Autowired
+    public UpstreamConnectionPoolMonitor(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    public PoolStats getStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    public boolean isSaturated() {
+        return isSaturated(getStats());
+    }
+
+    @Scheduled(fixedDelayString = "${employee.api.http-client.pool-report-interval-ms:30000}")
+    public void report() {
+        PoolStats stats = getStats();
+        if (isSaturated(stats)) {
+            logger.warn(
+                    "Upstream connection pool saturated: leased={}, pending={}, available={}, max={}",
+                    stats.getLeased(),
+                    stats.getPending(),
+                    stats.getAvailable(),
+                    stats.getMax());
+        } else {
+            logger.debug(
+                    "Upstream connection pool: leased={}, available={}, max={}",
+                    stats.getLeased(),
+                    stats.getAvailable(),
+                    stats.getMax());
+        }
+    }
+
+    private static boolean isSaturated(PoolStats stats) {
+        return stats.getPending() > 0 || stats.getLeased() >= stats.getMax();
+    }
+}
@@ -1,24 +1,38 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.dto.CreateEmployeeBatchResult;
 import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.EmployeeLookupResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeBatchService;
+import com.reliaquest.api.service.EmployeeBatchValidator;
 import com.reliaquest.api.service.EmployeeService;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/employee")
+@ConditionalOnProperty(name = "employee.api.reactive.enabled", havingValue = "false", matchIfMissing = true)
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeRequest> {
 
     private final EmployeeService employeeService;
+    private final EmployeeBatchService batchService;
+    private final EmployeeBatchValidator batchValidator;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(
+            EmployeeService employeeService,
+            EmployeeBatchService batchService,
+            EmployeeBatchValidator batchValidator) {
         this.employeeService = employeeService;
+        this.batchService = batchService;
+        this.batchValidator = batchValidator;
     }
 
     @Override
@@ -50,6 +64,33 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         }
     }
 
+    /**
+     * Looks up many employees in one call, as {@code GET /employee?ids=a,b,c}. Results come back in request order,
+     * with {@code found: false} for ids that do not exist.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<EmployeeLookupResult>> getEmployeesByIds(@RequestParam List<String> ids) {
+        if (!isValidLookup(ids)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        List<EmployeeLookupResult> results = employeeService.getEmployeesByIds(ids);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * {@link #getEmployeesByIds} with the ids in the body, for lists too long for a URL.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<List<EmployeeLookupResult>> lookUpEmployees(@RequestBody List<String> ids) {
+        return getEmployeesByIds(ids);
+    }
+
+    static boolean isValidLookup(List<String> ids) {
+        return !ids.isEmpty()
+                && ids.size() <= EmployeeService.MAX_LOOKUP_IDS
+                && ids.stream().noneMatch(id -> id == null || id.isBlank());
+    }
+
     @Override
     @GetMapping("/highest-salary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
@@ -64,6 +105,16 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         return ResponseEntity.ok(topTenHighestEarningEmployeeNames);
     }
 
+    @GetMapping("/top-earners")
+    public ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > EmployeeService.MAX_TOP_EARNERS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        List<String> topHighestEarningEmployeeNames = employeeService.getTopHighestEarningEmployeeNames(limit);
+        return ResponseEntity.ok(topHighestEarningEmployeeNames);
+    }
+
     @Override
     @PostMapping
     public ResponseEntity<Employee> createEmployee(@Valid @RequestBody CreateEmployeeRequest employeeInput) {
@@ -75,6 +126,22 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         }
     }
 
+    /**
+     * Creates many employees in one request. The whole batch is validated first and rejected with {@code 400} if any
+     * item is invalid, and with {@code 503} if too many items of other batches are still waiting; otherwise every item
+     * is attempted and answered with its own result. The response completes asynchronously, so no request thread
+     * waits for the batch.
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<List<CreateEmployeeBatchResult>>> createEmployees(
+            @RequestBody List<CreateEmployeeRequest> employeeInputs) {
+        List<CreateEmployeeBatchResult> invalid = batchValidator.validate(employeeInputs);
+        if (!invalid.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(invalid));
+        }
+        return batchService.createEmployees(employeeInputs).thenApply(ResponseEntity::ok);
+    }
+
     @Override
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
@@ -0,0 +1,42 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.upstream.UpstreamRateLimitedException;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+public class EmployeeControllerAdvice {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeControllerAdvice.class);
+
+    private static final long REJECTED_RETRY_AFTER_SECONDS = 5;
+
+    /**
+     * The mock server is rate limiting us; tell the caller when it is worth retrying instead of failing with a 500.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<String> handleUpstreamRateLimited(UpstreamRateLimitedException ex) {
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        logger.warn("Upstream rate limited, asking client to retry after {}s", retryAfterSeconds);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Batch creates are queued in a bounded queue; a batch that does not fit is turned away until it drains.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<String> handleRejected(RejectedExecutionException ex) {
+        logger.warn("Rejected work: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(REJECTED_RETRY_AFTER_SECONDS))
+                .body(ex.getMessage());
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.PreEncodedList;
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes a {@link PreEncodedList} body as its cached JSON bytes. Spring Boot registers converter beans ahead of the
+ * Jackson one, so such bodies are copied to the response instead of serialised, while every other body is left to
+ * Jackson.
+ */
+@Component
+public class PreEncodedJsonHttpMessageConverter extends AbstractHttpMessageConverter<PreEncodedList<?>> {
+
+    public PreEncodedJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PreEncodedList.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PreEncodedList<?> readInternal(Class<? extends PreEncodedList<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Pre-encoded lists are write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(PreEncodedList<?> list, MediaType contentType) {
+        return (long) list.getJson().length;
+    }
+
+    @Override
+    protected void writeInternal(PreEncodedList<?> list, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(list.getJson());
+    }
+}
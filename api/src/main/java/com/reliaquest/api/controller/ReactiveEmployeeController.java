@@ -0,0 +1,126 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.CreateEmployeeBatchResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.EmployeeLookupResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeBatchValidator;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routes and responses of {@link EmployeeController}, served from {@link ReactiveEmployeeService} when
+ * {@code employee.api.reactive.enabled} is set. Each handler returns a {@link Mono} of the same
+ * {@link ResponseEntity} the blocking controller returns, so Spring MVC releases the request thread while upstream is
+ * called and writes the response when the {@code Mono} completes. It cannot implement {@link IEmployeeController},
+ * whose methods return the entity directly.
+ */
+@RestController
+@RequestMapping("/employee")
+@ConditionalOnProperty(name = "employee.api.reactive.enabled", havingValue = "true")
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+    private final EmployeeBatchValidator batchValidator;
+
+    @Autowired
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService, EmployeeBatchValidator batchValidator) {
+        this.employeeService = employeeService;
+        this.batchValidator = batchValidator;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return employeeService.getAllEmployees().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/search/{name}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String name) {
+        return employeeService
+                .getEmployeesByNameSearch(name)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return employeeService
+                .getEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<List<EmployeeLookupResult>>> getEmployeesByIds(@RequestParam List<String> ids) {
+        if (!EmployeeController.isValidLookup(ids)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null));
+        }
+        return employeeService.getEmployeesByIds(ids).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/lookup")
+    public Mono<ResponseEntity<List<EmployeeLookupResult>>> lookUpEmployees(@RequestBody List<String> ids) {
+        return getEmployeesByIds(ids);
+    }
+
+    @GetMapping("/highest-salary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/top-ten-highest-earners")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/top-earners")
+    public Mono<ResponseEntity<List<String>>> getTopHighestEarningEmployeeNames(
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > EmployeeService.MAX_TOP_EARNERS) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null));
+        }
+        return employeeService
+                .getTopHighestEarningEmployeeNames(limit)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Employee>> createEmployee(@Valid @RequestBody CreateEmployeeRequest employeeInput) {
+        return employeeService
+                .createEmployee(employeeInput)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<CreateEmployeeBatchResult>>> createEmployees(
+            @RequestBody List<CreateEmployeeRequest> employeeInputs) {
+        List<CreateEmployeeBatchResult> invalid = batchValidator.validate(employeeInputs);
+        if (!invalid.isEmpty()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(invalid));
+        }
+        return employeeService.createEmployees(employeeInputs).collectList().map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return employeeService.deleteEmployeeById(id).map(result -> {
+            if ("Employee deleted successfully".equals(result)) {
+                return ResponseEntity.ok(result);
+            } else if ("Employee not found".equals(result)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(result);
+            } else {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
+            }
+        });
+    }
+}
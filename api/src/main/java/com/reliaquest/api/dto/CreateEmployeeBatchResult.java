@@ -0,0 +1,105 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+
+/**
+ * Outcome of one item of a {@code POST /employee/batch}, in the order the items were submitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CreateEmployeeBatchResult {
+
+    public enum Status {
+        /** Created upstream; {@code employee} holds the new record. */
+        CREATED,
+        /** Rejected by validation; nothing in the batch was sent upstream. */
+        INVALID,
+        /** Not created within the batch's time budget because of upstream rate limiting; safe to resubmit. */
+        RATE_LIMITED,
+        /** Upstream failed or returned no employee. */
+        FAILED
+    }
+
+    private int index;
+
+    private Status status;
+
+    private Employee employee;
+
+    private String error;
+
+    private Long retryAfterSeconds;
+
+    public static CreateEmployeeBatchResult created(int index, Employee employee) {
+        CreateEmployeeBatchResult result = new CreateEmployeeBatchResult(index, Status.CREATED);
+        result.setEmployee(employee);
+        return result;
+    }
+
+    public static CreateEmployeeBatchResult invalid(int index, String error) {
+        CreateEmployeeBatchResult result = new CreateEmployeeBatchResult(index, Status.INVALID);
+        result.setError(error);
+        return result;
+    }
+
+    public static CreateEmployeeBatchResult rateLimited(int index, Duration retryAfter) {
+        CreateEmployeeBatchResult result = new CreateEmployeeBatchResult(index, Status.RATE_LIMITED);
+        result.setError("Upstream rate limit reached");
+        result.setRetryAfterSeconds(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+        return result;
+    }
+
+    public static CreateEmployeeBatchResult failed(int index, String error) {
+        CreateEmployeeBatchResult result = new CreateEmployeeBatchResult(index, Status.FAILED);
+        result.setError(error);
+        return result;
+    }
+
+    public CreateEmployeeBatchResult() {}
+
+    private CreateEmployeeBatchResult(int index, Status status) {
+        this.index = index;
+        this.status = status;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(Long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reliaquest.api.model.Employee;
+
+/**
+ * Outcome of one id of a multi-get ({@code GET /employee?ids=...} or {@code POST /employee/lookup}), in the order the
+ * ids were requested. An id that does not exist is answered with {@code found: false} and no employee.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeLookupResult {
+
+    private String id;
+
+    private boolean found;
+
+    private Employee employee;
+
+    public static EmployeeLookupResult found(String id, Employee employee) {
+        EmployeeLookupResult result = new EmployeeLookupResult(id, true);
+        result.setEmployee(employee);
+        return result;
+    }
+
+    public static EmployeeLookupResult notFound(String id) {
+        return new EmployeeLookupResult(id, false);
+    }
+
+    public EmployeeLookupResult() {}
+
+    private EmployeeLookupResult(String id, boolean found) {
+        this.id = id;
+        this.found = found;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.api.dto;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+/**
+ * A response body list whose JSON is already encoded. {@code PreEncodedJsonHttpMessageConverter} copies those bytes
+ * to the response instead of having Jackson serialise the values again; anything else reads it like the list it
+ * wraps.
+ */
+public final class PreEncodedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> values;
+    private final Supplier<byte[]> json;
+
+    /**
+     * @param json supplies the JSON encoding of {@code values}; called each time the list is written
+     */
+    public PreEncodedList(List<E> values, Supplier<byte[]> json) {
+        this.values = values;
+        this.json = json;
+    }
+
+    @Override
+    public E get(int index) {
+        return values.get(index);
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    public byte[] getJson() {
+        return json.get();
+    }
+}
@@ -1,18 +1,47 @@
 package com.reliaquest.api.enums;
 
+import org.springframework.http.HttpMethod;
+
 public enum EmployeeEndpoint {
-    GET_ALL_EMPLOYEES("/api/v1/employee"),
-    GET_EMPLOYEE_BY_ID("/api/v1/employee/"),
-    CREATE_EMPLOYEE("/api/v1/employee"),
-    DELETE_EMPLOYEE_BY_ID("/api/v1/employee");
+    GET_ALL_EMPLOYEES(HttpMethod.GET, "/api/v1/employee"),
+    GET_EMPLOYEE_BY_ID(HttpMethod.GET, "/api/v1/employee/"),
+    CREATE_EMPLOYEE(HttpMethod.POST, "/api/v1/employee"),
+    DELETE_EMPLOYEE_BY_ID(HttpMethod.DELETE, "/api/v1/employee"),
+    GET_EMPLOYEE_CHANGES(HttpMethod.GET, "/api/v1/employee/changes");
 
+    private final HttpMethod method;
     private final String path;
 
-    EmployeeEndpoint(String path) {
+    EmployeeEndpoint(HttpMethod method, String path) {
+        this.method = method;
         this.path = path;
     }
 
+    public HttpMethod getMethod() {
+        return method;
+    }
+
     public String getPath() {
         return path;
     }
+
+    /**
+     * The endpoint a request was made to, or {@code null} if it matches none. Exact paths win over the
+     * {@code /api/v1/employee/{id}} prefix.
+     */
+    public static EmployeeEndpoint resolve(HttpMethod method, String requestPath) {
+        EmployeeEndpoint prefixMatch = null;
+        for (EmployeeEndpoint endpoint : values()) {
+            if (!endpoint.method.equals(method)) {
+                continue;
+            }
+            if (endpoint.path.equals(requestPath)) {
+                return endpoint;
+            }
+            if (endpoint.path.endsWith("/") && requestPath.startsWith(endpoint.path)) {
+                prefixMatch = endpoint;
+            }
+        }
+        return prefixMatch;
+    }
 }
@@ -0,0 +1,238 @@
+package com.reliaquest.api.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Trigram inverted index over case-folded names, answering "name contains fragment" queries.
+ *
+ * <p>Every distinct three-character sequence of a name maps to the ascending list of rows whose name contains it. A
+ * query intersects the posting lists of its own trigrams, smallest first, and only the surviving candidates are
+ * checked with {@link String#contains}. Fragments shorter than a trigram fall back to a scan. The index holds no
+ * names itself: both the build and the checks read them through a function from row to name, which returns
+ * {@code null} for rows that no longer exist so that they are skipped.
+ *
+ * <p>The index is immutable. Rows appended to the table are indexed with {@link #withRows} into a small set of recent
+ * posting lists kept beside the main ones, so a change costs the new names' trigrams rather than a rebuild; once the
+ * recent rows outgrow roughly the square root of the index they are merged into the main lists. Deleted rows stay in
+ * the lists and are skipped when checked, until the table renumbers its rows and the index is built again.
+ */
+public final class NameSearchIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+    private static final int MIN_RECENT_ROWS = 64;
+
+    private final int rowCount;
+    private final Map<Long, int[]> postings;
+    // Posting lists of rows from recentFrom on, all of which come after every row in postings.
+    private final int recentFrom;
+    private final Map<Long, int[]> recentPostings;
+
+    private NameSearchIndex(int rowCount, Map<Long, int[]> postings, int recentFrom, Map<Long, int[]> recentPostings) {
+        this.rowCount = rowCount;
+        this.postings = postings;
+        this.recentFrom = recentFrom;
+        this.recentPostings = recentPostings;
+    }
+
+    /**
+     * Indexes rows {@code 0} to {@code rowCount - 1}, skipping those for which {@code nameOfRow} returns {@code null}.
+     */
+    public static NameSearchIndex build(int rowCount, IntFunction<String> nameOfRow) {
+        Map<Long, PostingListBuilder> builders = new HashMap<>();
+        for (int row = 0; row < rowCount; row++) {
+            String name = nameOfRow.apply(row);
+            if (name == null) {
+                continue;
+            }
+            String folded = fold(name);
+            for (int i = 0; i + 3 <= folded.length(); i++) {
+                builders.computeIfAbsent(trigram(folded, i), ignored -> new PostingListBuilder())
+                        .add(row);
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((trigram, builder) -> postings.put(trigram, builder.toArray()));
+        return new NameSearchIndex(rowCount, postings, rowCount, Map.of());
+    }
+
+    /**
+     * This index extended to rows {@code rowCount()} to {@code toRow - 1}, rows the table appended since.
+     */
+    public NameSearchIndex withRows(int toRow, IntFunction<String> nameOfRow) {
+        if (toRow <= rowCount) {
+            return this;
+        }
+        Map<Long, int[]> recent = new HashMap<>(recentPostings);
+        for (int row = rowCount; row < toRow; row++) {
+            String name = nameOfRow.apply(row);
+            if (name == null) {
+                continue;
+            }
+            String folded = fold(name);
+            for (int i = 0; i + 3 <= folded.length(); i++) {
+                int appendedRow = row;
+                recent.merge(trigram(folded, i), new int[] {row}, (list, ignored) -> appended(list, appendedRow));
+            }
+        }
+        if (toRow - recentFrom <= Math.max(MIN_RECENT_ROWS, (int) Math.sqrt(recentFrom))) {
+            return new NameSearchIndex(toRow, postings, recentFrom, recent);
+        }
+        Map<Long, int[]> merged = new HashMap<>(postings);
+        recent.forEach((trigram, list) -> merged.merge(trigram, list, NameSearchIndex::concat));
+        return new NameSearchIndex(toRow, merged, toRow, Map.of());
+    }
+
+    /**
+     * @param nameOfRow the same function the index was built with
+     * @return the rows whose name contains {@code fragment}, ignoring case, in ascending order
+     */
+    public int[] search(String fragment, IntFunction<String> nameOfRow) {
+        String query = fold(fragment);
+        if (query.length() < 3) {
+            return scan(query, null, nameOfRow);
+        }
+        int[] candidates = concat(candidates(postings, query), candidates(recentPostings, query));
+        // Trigram hits only prove each piece occurs somewhere in the name; confirm the fragment itself.
+        return scan(query, candidates, nameOfRow);
+    }
+
+    /**
+     * Rows in {@code lists} holding every trigram of {@code query}, which is at least a trigram long.
+     */
+    private static int[] candidates(Map<Long, int[]> lists, String query) {
+        int trigramCount = query.length() - 2;
+        int[][] queryLists = new int[trigramCount][];
+        for (int i = 0; i < trigramCount; i++) {
+            int[] list = lists.get(trigram(query, i));
+            if (list == null) {
+                return NO_ROWS;
+            }
+            queryLists[i] = list;
+        }
+        Arrays.sort(queryLists, Comparator.comparingInt(list -> list.length));
+        int[] candidates = queryLists[0];
+        for (int i = 1; i < queryLists.length && candidates.length > 0; i++) {
+            if (queryLists[i] != queryLists[i - 1]) {
+                candidates = intersect(candidates, queryLists[i]);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return one past the highest row indexed
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    private int[] scan(String query, int[] candidates, IntFunction<String> nameOfRow) {
+        int count = candidates == null ? rowCount : candidates.length;
+        int[] matches = new int[count];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            int row = candidates == null ? i : candidates[i];
+            String name = nameOfRow.apply(row);
+            if (name != null && fold(name).contains(query)) {
+                matches[found++] = row;
+            }
+        }
+        return found == matches.length ? matches : Arrays.copyOf(matches, found);
+    }
+
+    private static int[] intersect(int[] smaller, int[] larger) {
+        int[] result = new int[smaller.length];
+        int found = 0;
+        int j = 0;
+        for (int i = 0; i < smaller.length && j < larger.length; i++) {
+            int row = smaller[i];
+            j = seek(larger, j, row);
+            if (j < larger.length && larger[j] == row) {
+                result[found++] = row;
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Galloping search: first index at or after {@code from} whose value is {@code >= target}.
+     */
+    private static int seek(int[] list, int from, int target) {
+        int bound = 1;
+        while (from + bound < list.length && list[from + bound] < target) {
+            bound <<= 1;
+        }
+        int low = from + (bound >> 1);
+        int high = Math.min(from + bound, list.length - 1);
+        if (low < list.length && list[low] >= target) {
+            return low;
+        }
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (list[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * {@code list} with {@code row} added at the end, unless it already ends with it (a trigram repeated in one name).
+     */
+    private static int[] appended(int[] list, int row) {
+        if (list[list.length - 1] == row) {
+            return list;
+        }
+        int[] extended = Arrays.copyOf(list, list.length + 1);
+        extended[list.length] = row;
+        return extended;
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        if (second.length == 0) {
+            return first;
+        }
+        if (first.length == 0) {
+            return second;
+        }
+        int[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    private static String fold(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String folded, int offset) {
+        return ((long) folded.charAt(offset) << 32) | ((long) folded.charAt(offset + 1) << 16) | folded.charAt(offset + 2);
+    }
+
+    private static final class PostingListBuilder {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            // Rows arrive in ascending order; a trigram repeated within one name is recorded once.
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
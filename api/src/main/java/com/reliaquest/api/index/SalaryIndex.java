@@ -0,0 +1,231 @@
+package com.reliaquest.api.index;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Rows of an employee table ordered by salary, highest first (ties by row), held in parallel {@code int[]} arrays.
+ * The highest salary is {@code O(1)} and the top {@code k} earners {@code O(k)}, give or take pending changes.
+ *
+ * <p>Changes do not copy the sorted arrays: an added row goes into a small sorted array of pending additions and a
+ * removed one into a sorted array of removed positions, both merged into reads. Once they outgrow roughly the square
+ * root of the index they are folded in with one linear merge. Either way a change returns a new index, so snapshots
+ * sharing the old one are unaffected.
+ */
+public final class SalaryIndex {
+
+    private static final int[] NONE = new int[0];
+    private static final int MIN_PENDING_CHANGES = 64;
+    private static final SalaryIndex EMPTY = new SalaryIndex(NONE, NONE, NONE, NONE, NONE);
+
+    private final int[] salaries;
+    private final int[] rows;
+    // Positions in salaries/rows no longer indexed, ascending.
+    private final int[] removedPositions;
+    // Rows added since the arrays above were sorted, in the same order.
+    private final int[] addedSalaries;
+    private final int[] addedRows;
+
+    private SalaryIndex(int[] salaries, int[] rows, int[] removedPositions, int[] addedSalaries, int[] addedRows) {
+        this.salaries = salaries;
+        this.rows = rows;
+        this.removedPositions = removedPositions;
+        this.addedSalaries = addedSalaries;
+        this.addedRows = addedRows;
+    }
+
+    /**
+     * Indexes rows {@code 0} to {@code size - 1}, where row {@code r} earns {@code salaryOfRow.applyAsInt(r)}.
+     */
+    public static SalaryIndex build(int size, IntUnaryOperator salaryOfRow) {
+        return build(size, row -> true, salaryOfRow);
+    }
+
+    /**
+     * Like {@link #build(int, IntUnaryOperator)}, indexing only the rows for which {@code indexed} holds.
+     */
+    public static SalaryIndex build(int size, IntPredicate indexed, IntUnaryOperator salaryOfRow) {
+        // Sort (salary descending, row ascending) as packed longs: ~salary is monotonically decreasing in salary,
+        // and ties keep their original order.
+        long[] keys = new long[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (indexed.test(row)) {
+                keys[count++] = ((long) ~salaryOfRow.applyAsInt(row) << 32) | row;
+            }
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(keys, 0, count);
+        int[] salaries = new int[count];
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = (int) keys[i];
+            salaries[i] = ~(int) (keys[i] >> 32);
+        }
+        return new SalaryIndex(salaries, rows, NONE, NONE, NONE);
+    }
+
+    /**
+     * Adds {@code row}, which must come after every row already indexed, as the table only appends.
+     */
+    public SalaryIndex withAdded(int row, int salary) {
+        int position = endOfSalary(addedSalaries, salary);
+        return folded(removedPositions, insert(addedSalaries, position, salary), insert(addedRows, position, row));
+    }
+
+    /**
+     * Removes {@code row}, earning {@code salary}; other rows keep their numbers.
+     */
+    public SalaryIndex withRemoved(int row, int salary) {
+        int position = positionOf(salaries, rows, row, salary);
+        if (position >= 0) {
+            int removedAt = Arrays.binarySearch(removedPositions, position);
+            if (removedAt >= 0) {
+                return this;
+            }
+            return folded(insert(removedPositions, -removedAt - 1, position), addedSalaries, addedRows);
+        }
+        position = positionOf(addedSalaries, addedRows, row, salary);
+        if (position < 0) {
+            return this;
+        }
+        return folded(removedPositions, delete(addedSalaries, position), delete(addedRows, position));
+    }
+
+    /**
+     * @return the highest salary, or {@code 0} when there are no employees
+     */
+    public int highestSalary() {
+        int position = positionOfFirstLive();
+        if (position == salaries.length) {
+            return addedSalaries.length == 0 ? 0 : addedSalaries[0];
+        }
+        return addedSalaries.length == 0 ? salaries[position] : Math.max(salaries[position], addedSalaries[0]);
+    }
+
+    /**
+     * The rows of the {@code limit} highest earners, highest first.
+     */
+    public int[] topRows(int limit) {
+        int[] top = new int[Math.min(Math.max(limit, 0), size())];
+        merge(null, top);
+        return top;
+    }
+
+    public int size() {
+        return rows.length - removedPositions.length + addedRows.length;
+    }
+
+    private SalaryIndex folded(int[] removedPositions, int[] addedSalaries, int[] addedRows) {
+        SalaryIndex index = new SalaryIndex(salaries, rows, removedPositions, addedSalaries, addedRows);
+        int pending = removedPositions.length + addedRows.length;
+        if (pending <= Math.max(MIN_PENDING_CHANGES, (int) Math.sqrt(rows.length))) {
+            return index;
+        }
+        int[] mergedSalaries = new int[index.size()];
+        int[] mergedRows = new int[index.size()];
+        index.merge(mergedSalaries, mergedRows);
+        return new SalaryIndex(mergedSalaries, mergedRows, NONE, NONE, NONE);
+    }
+
+    /**
+     * Fills {@code outRows} (and {@code outSalaries}, unless {@code null}) with the highest entries of the sorted
+     * arrays without the removed positions, merged with the pending additions. Added rows come after every row in the
+     * sorted arrays, so on equal salaries the sorted arrays go first.
+     */
+    private void merge(int[] outSalaries, int[] outRows) {
+        int position = 0;
+        int removed = 0;
+        int added = 0;
+        for (int i = 0; i < outRows.length; i++) {
+            while (removed < removedPositions.length && removedPositions[removed] == position) {
+                position++;
+                removed++;
+            }
+            boolean fromSorted = added == addedRows.length
+                    || position < rows.length && salaries[position] >= addedSalaries[added];
+            if (fromSorted) {
+                if (outSalaries != null) {
+                    outSalaries[i] = salaries[position];
+                }
+                outRows[i] = rows[position++];
+            } else {
+                if (outSalaries != null) {
+                    outSalaries[i] = addedSalaries[added];
+                }
+                outRows[i] = addedRows[added++];
+            }
+        }
+    }
+
+    private int positionOfFirstLive() {
+        int position = 0;
+        for (int i = 0; i < removedPositions.length && removedPositions[i] == position; i++) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Position of {@code row}, earning {@code salary}, in a pair of sorted arrays, or {@code -1}.
+     */
+    private static int positionOf(int[] salaries, int[] rows, int row, int salary) {
+        int low = startOfSalary(salaries, salary);
+        int high = endOfSalary(salaries, salary);
+        // Within one salary, rows ascend.
+        int found = Arrays.binarySearch(rows, low, high, row);
+        return found >= 0 ? found : -1;
+    }
+
+    /**
+     * First position holding {@code salary} (or where it would go) in a descending array.
+     */
+    private static int startOfSalary(int[] salaries, int salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] > salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Position just past the last entry holding {@code salary}, so equal salaries keep insertion order.
+     */
+    private static int endOfSalary(int[] salaries, int salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] insert(int[] values, int position, int value) {
+        int[] inserted = new int[values.length + 1];
+        System.arraycopy(values, 0, inserted, 0, position);
+        inserted[position] = value;
+        System.arraycopy(values, position, inserted, position + 1, values.length - position);
+        return inserted;
+    }
+
+    private static int[] delete(int[] values, int position) {
+        int[] remaining = new int[values.length - 1];
+        System.arraycopy(values, 0, remaining, 0, position);
+        System.arraycopy(values, position + 1, remaining, position, values.length - position - 1);
+        return remaining;
+    }
+}
@@ -0,0 +1,137 @@
+package com.reliaquest.api.metrics;
+
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.enums.EmployeeEndpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics for the api's upstream traffic and snapshot cache, exported on {@code /actuator/prometheus}.
+ *
+ * <ul>
+ *   <li>{@code employee.upstream.requests} - timer per {@link EmployeeEndpoint} and response status, from sending the
+ *   request until the response is closed;</li>
+ *   <li>{@code employee.upstream.rate.limited} and {@code employee.upstream.server.errors} - {@code 429} and
+ *   {@code 5xx} responses per endpoint;</li>
+ *   <li>{@code employee.upstream.decode} and {@code employee.upstream.mapping} - time spent deserialising responses
+ *   and turning them into the local model;</li>
+ *   <li>{@code employee.cache.employees} and {@code employee.cache.age} - size and age of the cached snapshot.</li>
+ * </ul>
+ *
+ * <p>Timers publish percentile histograms, so p99 can be computed across instances with {@code histogram_quantile}.
+ */
+@Component
+public class EmployeeApiMetrics {
+
+    public static final String UPSTREAM_REQUESTS = "employee.upstream.requests";
+    public static final String UPSTREAM_RATE_LIMITED = "employee.upstream.rate.limited";
+    public static final String UPSTREAM_SERVER_ERRORS = "employee.upstream.server.errors";
+    public static final String UPSTREAM_DECODE = "employee.upstream.decode";
+    public static final String UPSTREAM_MAPPING = "employee.upstream.mapping";
+    public static final String CACHE_EMPLOYEES = "employee.cache.employees";
+    public static final String CACHE_AGE = "employee.cache.age";
+
+    /** Status tag for calls that failed without a response. */
+    public static final String IO_ERROR = "IO_ERROR";
+
+    private static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+
+    private final MeterRegistry registry;
+
+    @Autowired
+    public EmployeeApiMetrics(MeterRegistry registry, EmployeeSnapshotCache snapshotCache) {
+        this.registry = registry;
+        Gauge.builder(CACHE_EMPLOYEES, snapshotCache, EmployeeSnapshotCache::cachedEmployeeCount)
+                .description("Employees in the cached snapshot")
+                .register(registry);
+        Gauge.builder(CACHE_AGE, snapshotCache, cache -> cache.snapshotAge()
+                        .map(age -> age.toNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                        .orElse(Double.NaN))
+                .description("Time since the cached snapshot was fetched from upstream")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * Records one upstream call.
+     *
+     * @param status the response status code, or {@link #IO_ERROR}
+     */
+    public void recordUpstreamCall(EmployeeEndpoint endpoint, String status, Duration duration) {
+        String endpointTag = endpointTag(endpoint);
+        Timer.builder(UPSTREAM_REQUESTS)
+                .description("Upstream calls, from request until the response is closed")
+                .tag("endpoint", endpointTag)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(duration);
+        if (status.equals("429")) {
+            Counter.builder(UPSTREAM_RATE_LIMITED)
+                    .description("Upstream calls rejected with 429")
+                    .tag("endpoint", endpointTag)
+                    .register(registry)
+                    .increment();
+        } else if (status.startsWith("5")) {
+            Counter.builder(UPSTREAM_SERVER_ERRORS)
+                    .description("Upstream calls that failed with a 5xx status")
+                    .tag("endpoint", endpointTag)
+                    .tag("status", status)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    /**
+     * Times deserialising an upstream response for {@code endpoint}.
+     */
+    public <T> T timeDecode(EmployeeEndpoint endpoint, IoSupplier<T> decode) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return decode.get();
+        } finally {
+            recordDecode(endpoint, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records deserialising an upstream response for {@code endpoint} that was decoded piecemeal, such as a body parsed
+     * chunk by chunk as it arrived; {@code nanos} is the total time spent decoding.
+     */
+    public void recordDecode(EmployeeEndpoint endpoint, long nanos) {
+        stageTimer(UPSTREAM_DECODE, "Deserialising upstream responses", endpoint).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Times turning a decoded upstream response for {@code endpoint} into the local model.
+     */
+    public <T> T timeMapping(EmployeeEndpoint endpoint, Supplier<T> mapping) {
+        return stageTimer(UPSTREAM_MAPPING, "Mapping upstream responses to the local model", endpoint)
+                .record(mapping);
+    }
+
+    private Timer stageTimer(String name, String description, EmployeeEndpoint endpoint) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("endpoint", endpointTag(endpoint))
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String endpointTag(EmployeeEndpoint endpoint) {
+        return endpoint == null ? UNKNOWN_ENDPOINT : endpoint.name();
+    }
+
+    @FunctionalInterface
+    public interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.api.metrics;
+
+import com.reliaquest.api.enums.EmployeeEndpoint;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link UpstreamMetricsInterceptor} for {@code WebClient}: times every upstream call into {@link EmployeeApiMetrics}
+ * per {@link EmployeeEndpoint}. The timer stops when the response body has been read or released.
+ */
+public class UpstreamMetricsFilter implements ExchangeFilterFunction {
+
+    private final EmployeeApiMetrics metrics;
+
+    public UpstreamMetricsFilter(EmployeeApiMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        EmployeeEndpoint endpoint = EmployeeEndpoint.resolve(request.method(), request.url().getPath());
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnError(e -> metrics.recordUpstreamCall(
+                            endpoint, EmployeeApiMetrics.IO_ERROR, Duration.ofNanos(System.nanoTime() - start)))
+                    .map(response -> {
+                        String status = String.valueOf(response.statusCode().value());
+                        AtomicBoolean recorded = new AtomicBoolean();
+                        return response.mutate()
+                                .body(body -> body.doFinally(signal -> {
+                                    if (recorded.compareAndSet(false, true)) {
+                                        metrics.recordUpstreamCall(
+                                                endpoint, status, Duration.ofNanos(System.nanoTime() - start));
+                                    }
+                                }))
+                                .build();
+                    });
+        });
+    }
+}
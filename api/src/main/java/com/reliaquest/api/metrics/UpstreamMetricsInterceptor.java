@@ -0,0 +1,96 @@
+package com.reliaquest.api.metrics;
+
+import com.reliaquest.api.enums.EmployeeEndpoint;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Times every upstream call into {@link EmployeeApiMetrics}, tagged with the {@link EmployeeEndpoint} it resolves to
+ * rather than the raw URI, so employee ids and cursors do not turn into tags. The timer stops when the response is
+ * closed, so time spent reading a streamed body is included.
+ */
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final EmployeeApiMetrics metrics;
+
+    public UpstreamMetricsInterceptor(EmployeeApiMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        EmployeeEndpoint endpoint = EmployeeEndpoint.resolve(request.getMethod(), request.getURI().getPath());
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            metrics.recordUpstreamCall(
+                    endpoint, EmployeeApiMetrics.IO_ERROR, Duration.ofNanos(System.nanoTime() - start));
+            throw e;
+        }
+        return new TimedResponse(response, endpoint, start);
+    }
+
+    private final class TimedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final EmployeeEndpoint endpoint;
+        private final long start;
+        private boolean closed;
+
+        TimedResponse(ClientHttpResponse delegate, EmployeeEndpoint endpoint, long start) {
+            this.delegate = delegate;
+            this.endpoint = endpoint;
+            this.start = start;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    metrics.recordUpstreamCall(endpoint, status(), Duration.ofNanos(System.nanoTime() - start));
+                }
+            }
+        }
+
+        private String status() {
+            try {
+                return String.valueOf(delegate.getStatusCode().value());
+            } catch (IOException e) {
+                return EmployeeApiMetrics.IO_ERROR;
+            }
+        }
+    }
+}
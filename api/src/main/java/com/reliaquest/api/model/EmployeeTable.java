@@ -0,0 +1,187 @@
+package com.reliaquest.api.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, column-oriented table of employees: one array per field instead of one {@link Employee} and its strings
+ * per person (see {@link TableSegment} for the encoding).
+ *
+ * <p>Rows live in a large base segment and a small tail segment of rows appended since. Deleting a row only records
+ * it as deleted, so rows keep their numbers and a change copies the tail and the deleted rows, not the table. Once
+ * those outgrow roughly the square root of the base, the next change compacts everything into a new base and rows are
+ * renumbered; {@link #keepsRowsOf} tells callers holding row numbers when that happened. Tables derived from the same
+ * table share its base.
+ *
+ * <p>{@link Employee} objects are only created when a row is read through {@link #get} or {@link #asList()}, and are
+ * copies: changing one does not change the table. Changes produce a new table, leaving readers of the old one
+ * unaffected.
+ */
+public final class EmployeeTable {
+
+    private static final int[] NO_ROWS = new int[0];
+    private static final int MIN_PENDING_ROWS = 64;
+
+    private final TableSegment base;
+    private final TableSegment tail;
+    // Ascending.
+    private final int[] deletedRows;
+
+    private final List<Employee> liveRows = new LiveRowView();
+
+    private EmployeeTable(TableSegment base, TableSegment tail, int[] deletedRows) {
+        this.base = base;
+        this.tail = tail;
+        this.deletedRows = deletedRows;
+    }
+
+    public static EmployeeTable of(List<Employee> employees) {
+        TableSegment base = TableSegment.of(employees);
+        return new EmployeeTable(base, TableSegment.emptyAfter(base), NO_ROWS);
+    }
+
+    /**
+     * This table with the rows set in {@code removedRows} deleted and with {@code appended} added as its last rows.
+     * Rows already deleted, or past the end of the table, are ignored.
+     */
+    public EmployeeTable withChanges(BitSet removedRows, List<Employee> appended) {
+        int[] deleted = deletedRows;
+        int[] removed = removedRows.stream()
+                .filter(row -> row < rowCount() && isLive(row))
+                .toArray();
+        if (removed.length > 0) {
+            deleted = new int[deletedRows.length + removed.length];
+            System.arraycopy(deletedRows, 0, deleted, 0, deletedRows.length);
+            System.arraycopy(removed, 0, deleted, deletedRows.length, removed.length);
+            Arrays.sort(deleted);
+        }
+        if (removed.length == 0 && appended.isEmpty()) {
+            return this;
+        }
+        TableSegment newTail = appended.isEmpty() ? tail : tail.withAppended(appended);
+        if (newTail.size() + deleted.length <= pendingRowLimit(base.size())) {
+            return new EmployeeTable(base, newTail, deleted);
+        }
+        int[] dead = deleted;
+        TableSegment compacted = TableSegment.merge(base, newTail, row -> Arrays.binarySearch(dead, row) < 0);
+        return new EmployeeTable(compacted, TableSegment.emptyAfter(compacted), NO_ROWS);
+    }
+
+    /**
+     * Appended and deleted rows a table over a base of {@code baseSize} rows holds before it is compacted. At the
+     * square root, the copying per change and the compaction it amortises cost about the same.
+     */
+    private static int pendingRowLimit(int baseSize) {
+        return Math.max(MIN_PENDING_ROWS, (int) Math.sqrt(baseSize));
+    }
+
+    /**
+     * Whether every row number of {@code earlier}, which this table was derived from through {@link #withChanges},
+     * still refers to the same employee here (or to a deleted row), i.e. no compaction happened in between.
+     */
+    public boolean keepsRowsOf(EmployeeTable earlier) {
+        return earlier.base == base;
+    }
+
+    /**
+     * @return the number of employees, not counting deleted rows
+     */
+    public int size() {
+        return rowCount() - deletedRows.length;
+    }
+
+    /**
+     * @return one past the highest row number, deleted rows included
+     */
+    public int rowCount() {
+        return base.size() + tail.size();
+    }
+
+    public boolean isLive(int row) {
+        return Arrays.binarySearch(deletedRows, row) < 0;
+    }
+
+    public Employee get(int row) {
+        return row < base.size() ? base.get(row) : tail.get(row - base.size());
+    }
+
+    /**
+     * Every employee as an {@link Employee}, created on access, in row order without the deleted rows.
+     */
+    public List<Employee> asList() {
+        return liveRows;
+    }
+
+    public String id(int row) {
+        return row < base.size() ? base.id(row) : tail.id(row - base.size());
+    }
+
+    public String name(int row) {
+        return row < base.size() ? base.name(row) : tail.name(row - base.size());
+    }
+
+    public int salary(int row) {
+        return row < base.size() ? base.salary(row) : tail.salary(row - base.size());
+    }
+
+    public int age(int row) {
+        return row < base.size() ? base.age(row) : tail.age(row - base.size());
+    }
+
+    public String title(int row) {
+        return row < base.size() ? base.title(row) : tail.title(row - base.size());
+    }
+
+    public String email(int row) {
+        return row < base.size() ? base.email(row) : tail.email(row - base.size());
+    }
+
+    /**
+     * @return the live row holding {@code id}, or {@code -1}
+     */
+    public int rowOf(String id) {
+        int tailRow = tail.rowOf(id);
+        if (tailRow >= 0 && isLive(base.size() + tailRow)) {
+            return base.size() + tailRow;
+        }
+        int baseRow = base.rowOf(id);
+        return baseRow >= 0 && isLive(baseRow) ? baseRow : -1;
+    }
+
+    /**
+     * Row of the {@code index}-th live employee: {@code index} plus the number of deleted rows before it, found by
+     * binary search, as {@code deletedRows[k] - k} never decreases.
+     */
+    private int liveRow(int index) {
+        int low = 0;
+        int high = deletedRows.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (deletedRows[mid] - mid <= index) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return index + low;
+    }
+
+    private final class LiveRowView extends AbstractList<Employee> implements RandomAccess {
+
+        @Override
+        public Employee get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return EmployeeTable.this.get(liveRow(index));
+        }
+
+        @Override
+        public int size() {
+            return EmployeeTable.this.size();
+        }
+    }
+}
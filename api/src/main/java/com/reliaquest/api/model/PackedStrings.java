@@ -0,0 +1,96 @@
+package com.reliaquest.api.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Immutable column of strings stored back to back as UTF-8 in one {@code byte[]}, with the end offset of each entry
+ * in an {@code int[]}. Costs one array slot per entry instead of a {@code String} and its backing array; entries are
+ * decoded on each {@link #get}.
+ */
+final class PackedStrings {
+
+    private final byte[] bytes;
+    private final int[] ends;
+    private final BitSet nulls;
+
+    private PackedStrings(byte[] bytes, int[] ends, BitSet nulls) {
+        this.bytes = bytes;
+        this.ends = ends;
+        this.nulls = nulls;
+    }
+
+    int size() {
+        return ends.length;
+    }
+
+    String get(int index) {
+        if (nulls.get(index)) {
+            return null;
+        }
+        int start = start(index);
+        return new String(bytes, start, ends[index] - start, StandardCharsets.UTF_8);
+    }
+
+    private int start(int index) {
+        return index == 0 ? 0 : ends[index - 1];
+    }
+
+    static final class Builder {
+
+        private byte[] bytes;
+        private int length;
+        private int[] ends;
+        private int size;
+        private final BitSet nulls = new BitSet();
+
+        Builder(int expectedSize) {
+            this.bytes = new byte[Math.max(16, expectedSize * 16)];
+            this.ends = new int[Math.max(4, expectedSize)];
+        }
+
+        void add(String value) {
+            if (value == null) {
+                nulls.set(size);
+                end();
+                return;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            append(encoded, 0, encoded.length);
+        }
+
+        /**
+         * Copies entry {@code index} of {@code source} without decoding it.
+         */
+        void addFrom(PackedStrings source, int index) {
+            if (source.nulls.get(index)) {
+                nulls.set(size);
+                end();
+                return;
+            }
+            int start = source.start(index);
+            append(source.bytes, start, source.ends[index] - start);
+        }
+
+        private void append(byte[] source, int offset, int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + count, bytes.length * 2));
+            }
+            System.arraycopy(source, offset, bytes, length, count);
+            length += count;
+            end();
+        }
+
+        private void end() {
+            if (size == ends.length) {
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            ends[size++] = length;
+        }
+
+        PackedStrings build() {
+            return new PackedStrings(Arrays.copyOf(bytes, length), Arrays.copyOf(ends, size), (BitSet) nulls.clone());
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.reliaquest.api.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable, column-oriented block of employee rows, one array per field instead of one {@link Employee} and its
+ * strings per person:
+ *
+ * <ul>
+ *   <li>salary and age are {@code int[]} columns;</li>
+ *   <li>ids in canonical UUID form are two {@code long}s; any other id is kept as a string;</li>
+ *   <li>names and the local part of emails are packed UTF-8 ({@link PackedStrings});</li>
+ *   <li>titles and email domains, which repeat across a workforce, are dictionary-encoded as {@code int} codes.</li>
+ * </ul>
+ *
+ * <p>A segment built from another keeps that segment's dictionaries as a prefix of its own, so codes copied from it
+ * stay valid. {@link EmployeeTable} layers segments into a table.
+ */
+final class TableSegment {
+
+    private static final int NO_CODE = -1;
+    // Domain code of an email without an '@'; its local part holds the whole address.
+    private static final int NO_DOMAIN = -2;
+    // Stands in for a missing id among the non-UUID ids; compared by identity.
+    private static final String NULL_ID = new String();
+
+    private final int size;
+    private final long[] idHigh;
+    private final long[] idLow;
+    // Ids that are not canonical UUIDs, by row; null when every id is one.
+    private final String[] otherIds;
+    private final PackedStrings names;
+    private final int[] salaries;
+    private final int[] ages;
+    private final String[] titleDictionary;
+    private final int[] titleCodes;
+    private final PackedStrings emailLocalParts;
+    private final String[] domainDictionary;
+    private final int[] domainCodes;
+
+    private volatile int[] idSlots;
+
+    private TableSegment(Builder builder) {
+        this.size = builder.size;
+        this.idHigh = Arrays.copyOf(builder.idHigh, size);
+        this.idLow = Arrays.copyOf(builder.idLow, size);
+        this.otherIds = builder.otherIds == null ? null : Arrays.copyOf(builder.otherIds, size);
+        this.names = builder.names.build();
+        this.salaries = Arrays.copyOf(builder.salaries, size);
+        this.ages = Arrays.copyOf(builder.ages, size);
+        this.titleDictionary = builder.titles.toArray();
+        this.titleCodes = Arrays.copyOf(builder.titleCodes, size);
+        this.emailLocalParts = builder.emailLocalParts.build();
+        this.domainDictionary = builder.domains.toArray();
+        this.domainCodes = Arrays.copyOf(builder.domainCodes, size);
+    }
+
+    static TableSegment of(List<Employee> employees) {
+        Builder builder = new Builder(null, employees.size());
+        for (Employee employee : employees) {
+            builder.add(employee);
+        }
+        return new TableSegment(builder);
+    }
+
+    /**
+     * An empty segment sharing the dictionaries of {@code dictionarySource}.
+     */
+    static TableSegment emptyAfter(TableSegment dictionarySource) {
+        return new TableSegment(new Builder(dictionarySource, 0));
+    }
+
+    /**
+     * This segment's rows followed by {@code appended}.
+     */
+    TableSegment withAppended(List<Employee> appended) {
+        Builder builder = new Builder(this, size + appended.size());
+        for (int row = 0; row < size; row++) {
+            builder.addRow(this, row);
+        }
+        for (Employee employee : appended) {
+            builder.add(employee);
+        }
+        return new TableSegment(builder);
+    }
+
+    /**
+     * The rows of {@code first} and then {@code second} for which {@code keep} holds, numbering {@code second}'s rows
+     * after {@code first}'s. {@code second}'s dictionaries must extend {@code first}'s.
+     */
+    static TableSegment merge(TableSegment first, TableSegment second, IntPredicate keep) {
+        Builder builder = new Builder(second, first.size + second.size);
+        for (int row = 0; row < first.size; row++) {
+            if (keep.test(row)) {
+                builder.addRow(first, row);
+            }
+        }
+        for (int row = 0; row < second.size; row++) {
+            if (keep.test(first.size + row)) {
+                builder.addRow(second, row);
+            }
+        }
+        return new TableSegment(builder);
+    }
+
+    int size() {
+        return size;
+    }
+
+    Employee get(int row) {
+        Employee employee = new Employee();
+        employee.setId(id(row));
+        employee.setName(name(row));
+        employee.setSalary(salaries[row]);
+        employee.setAge(ages[row]);
+        employee.setTitle(title(row));
+        employee.setEmail(email(row));
+        return employee;
+    }
+
+    String id(int row) {
+        if (otherIds != null && otherIds[row] != null) {
+            return otherIds[row] == NULL_ID ? null : otherIds[row];
+        }
+        return new UUID(idHigh[row], idLow[row]).toString();
+    }
+
+    String name(int row) {
+        return names.get(row);
+    }
+
+    int salary(int row) {
+        return salaries[row];
+    }
+
+    int age(int row) {
+        return ages[row];
+    }
+
+    String title(int row) {
+        int code = titleCodes[row];
+        return code == NO_CODE ? null : titleDictionary[code];
+    }
+
+    String email(int row) {
+        int code = domainCodes[row];
+        if (code == NO_CODE) {
+            return null;
+        }
+        String localPart = emailLocalParts.get(row);
+        return code == NO_DOMAIN ? localPart : localPart + '@' + domainDictionary[code];
+    }
+
+    /**
+     * UUIDs match regardless of case, as upstream parses them: an exact match among the ids kept as strings comes
+     * first, then the UUID's numeric form.
+     *
+     * @return the last row holding {@code id}, or {@code -1}
+     */
+    int rowOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        long[] uuid = parseUuid(id, true);
+        // Only a non-canonical id can be among the string ids; a canonical one is always stored as numbers.
+        if (uuid == null || (otherIds != null && parseUuid(id, false) == null)) {
+            int row = findRow(hash(id), candidate -> id.equals(otherId(candidate)));
+            if (row >= 0 || uuid == null) {
+                return row;
+            }
+        }
+        return findRow(hash(uuid[0], uuid[1]), candidate -> hasUuid(candidate, uuid));
+    }
+
+    private int findRow(int hash, IntPredicate matches) {
+        int[] slots = idSlots();
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int row = slots[slot] - 1;
+            if (matches.test(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Open-addressed hash of rows by id, holding {@code row + 1} so that {@code 0} marks a free slot. Built on the
+     * first lookup; a later row with the same id replaces an earlier one.
+     */
+    private int[] idSlots() {
+        int[] slots = idSlots;
+        if (slots == null) {
+            slots = new int[Integer.highestOneBit(Math.max(1, size) * 2) * 2];
+            int mask = slots.length - 1;
+            for (int row = 0; row < size; row++) {
+                int slot = rowHash(row) & mask;
+                while (slots[slot] != 0 && !sameId(slots[slot] - 1, row)) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = row + 1;
+            }
+            idSlots = slots;
+        }
+        return slots;
+    }
+
+    private boolean hasUuid(int row, long[] uuid) {
+        return isUuidRow(row) && idHigh[row] == uuid[0] && idLow[row] == uuid[1];
+    }
+
+    private boolean isUuidRow(int row) {
+        return otherIds == null || otherIds[row] == null;
+    }
+
+    private String otherId(int row) {
+        return otherIds == null || otherIds[row] == NULL_ID ? null : otherIds[row];
+    }
+
+    private boolean sameId(int row, int other) {
+        if (isUuidRow(row) != isUuidRow(other)) {
+            return false;
+        }
+        return isUuidRow(row)
+                ? idHigh[row] == idHigh[other] && idLow[row] == idLow[other]
+                : otherIds[row].equals(otherIds[other]);
+    }
+
+    private int rowHash(int row) {
+        return isUuidRow(row) ? hash(idHigh[row], idLow[row]) : hash(otherIds[row]);
+    }
+
+    private static int hash(long high, long low) {
+        long h = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int hash(String id) {
+        int h = id.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @param anyCase whether upper-case hex digits are accepted; without it only the lower-case form
+     *     {@link UUID#toString()} produces parses, which is the only form stored as numbers, so that ids read back
+     *     exactly as they were added
+     * @return the two halves of {@code id} if it is a UUID, or {@code null}
+     */
+    private static long[] parseUuid(String id, boolean anyCase) {
+        if (id.length() != 36) {
+            return null;
+        }
+        long[] halves = new long[2];
+        int digits = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int value;
+            if (c >= '0' && c <= '9') {
+                value = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                value = c - 'a' + 10;
+            } else if (anyCase && c >= 'A' && c <= 'F') {
+                value = c - 'A' + 10;
+            } else {
+                return null;
+            }
+            halves[digits / 16] = (halves[digits / 16] << 4) | value;
+            digits++;
+        }
+        return halves;
+    }
+
+    private static final class Dictionary {
+
+        private final List<String> values;
+        private final Map<String, Integer> codes;
+
+        Dictionary(String[] initial) {
+            this.values = new ArrayList<>(initial == null ? List.of() : Arrays.asList(initial));
+            this.codes = new HashMap<>();
+            for (int code = 0; code < values.size(); code++) {
+                codes.put(values.get(code), code);
+            }
+        }
+
+        int encode(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        String[] toArray() {
+            return values.toArray(new String[0]);
+        }
+    }
+
+    private static final class Builder {
+
+        private int size;
+        private long[] idHigh;
+        private long[] idLow;
+        private String[] otherIds;
+        private final PackedStrings.Builder names;
+        private int[] salaries;
+        private int[] ages;
+        private final Dictionary titles;
+        private int[] titleCodes;
+        private final PackedStrings.Builder emailLocalParts;
+        private final Dictionary domains;
+        private int[] domainCodes;
+
+        /**
+         * @param base segment whose dictionaries are extended, so that rows copied from it (or from any segment whose
+         *     dictionaries it extends) with {@link #addRow} keep their codes
+         */
+        Builder(TableSegment base, int expectedSize) {
+            int capacity = Math.max(4, expectedSize);
+            this.idHigh = new long[capacity];
+            this.idLow = new long[capacity];
+            this.names = new PackedStrings.Builder(expectedSize);
+            this.salaries = new int[capacity];
+            this.ages = new int[capacity];
+            this.titles = new Dictionary(base == null ? null : base.titleDictionary);
+            this.titleCodes = new int[capacity];
+            this.emailLocalParts = new PackedStrings.Builder(expectedSize);
+            this.domains = new Dictionary(base == null ? null : base.domainDictionary);
+            this.domainCodes = new int[capacity];
+        }
+
+        void add(Employee employee) {
+            int row = nextRow();
+            setId(row, employee.getId());
+            names.add(employee.getName());
+            salaries[row] = employee.getSalary();
+            ages[row] = employee.getAge();
+            titleCodes[row] = titles.encode(employee.getTitle());
+            String email = employee.getEmail();
+            int at = email == null ? -1 : email.lastIndexOf('@');
+            if (email == null) {
+                emailLocalParts.add(null);
+                domainCodes[row] = NO_CODE;
+            } else if (at < 0) {
+                emailLocalParts.add(email);
+                domainCodes[row] = NO_DOMAIN;
+            } else {
+                emailLocalParts.add(email.substring(0, at));
+                domainCodes[row] = domains.encode(email.substring(at + 1));
+            }
+        }
+
+        void addRow(TableSegment source, int sourceRow) {
+            int row = nextRow();
+            if (source.isUuidRow(sourceRow)) {
+                idHigh[row] = source.idHigh[sourceRow];
+                idLow[row] = source.idLow[sourceRow];
+            } else {
+                setOtherId(row, source.otherIds[sourceRow]);
+            }
+            names.addFrom(source.names, sourceRow);
+            salaries[row] = source.salaries[sourceRow];
+            ages[row] = source.ages[sourceRow];
+            titleCodes[row] = source.titleCodes[sourceRow];
+            emailLocalParts.addFrom(source.emailLocalParts, sourceRow);
+            domainCodes[row] = source.domainCodes[sourceRow];
+        }
+
+        private void setId(int row, String id) {
+            long[] uuid = id == null ? null : parseUuid(id, false);
+            if (uuid != null) {
+                idHigh[row] = uuid[0];
+                idLow[row] = uuid[1];
+            } else {
+                setOtherId(row, id == null ? NULL_ID : id);
+            }
+        }
+
+        private void setOtherId(int row, String id) {
+            if (otherIds == null) {
+                otherIds = new String[idHigh.length];
+            }
+            otherIds[row] = id;
+        }
+
+        private int nextRow() {
+            if (size == idHigh.length) {
+                int capacity = size * 2;
+                idHigh = Arrays.copyOf(idHigh, capacity);
+                idLow = Arrays.copyOf(idLow, capacity);
+                otherIds = otherIds == null ? null : Arrays.copyOf(otherIds, capacity);
+                salaries = Arrays.copyOf(salaries, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                titleCodes = Arrays.copyOf(titleCodes, capacity);
+                domainCodes = Arrays.copyOf(domainCodes, capacity);
+            }
+            return size++;
+        }
+    }
+}
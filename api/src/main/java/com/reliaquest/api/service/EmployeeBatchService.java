@@ -0,0 +1,143 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.dto.CreateEmployeeBatchResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.upstream.UpstreamRateLimitedException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Fans a batch of creates out to upstream through {@link EmployeeService}.
+ *
+ * <ul>
+ *   <li>At most {@code employee.api.batch.concurrency} creates are in flight across all batches, since the upstream
+ *   rate limit is shared by all of them. Items waiting for a slot are bounded too: a batch that does not fit in the
+ *   {@code employee.api.batch.queue-capacity} free places is rejected as a whole with a
+ *   {@link RejectedExecutionException}, rather than piling up behind the others.</li>
+ *   <li>Each create waits for the {@link com.reliaquest.api.upstream.AdaptiveRateLimiter} for as long as the
+ *   {@code employee.api.batch.timeout} budget allows, instead of being shed after the usual queue wait. The budget
+ *   starts when the item is picked up, so time spent queued behind other items does not count against it. An item
+ *   rejected with {@code 429} is retried under the same budget.</li>
+ *   <li>Every item gets its own result and one failing does not affect the others.</li>
+ *   <li>Results are returned as a future, so the request thread is not held while the batch runs.</li>
+ * </ul>
+ */
+@Service
+@ConditionalOnProperty(name = "employee.api.reactive.enabled", havingValue = "false", matchIfMissing = true)
+public class EmployeeBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBatchService.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final EmployeeService employeeService;
+    private final Duration timeout;
+    private final Semaphore queueSlots;
+    private final int queueCapacity;
+    private final ExecutorService executor;
+
+    @Autowired
+    public EmployeeBatchService(
+            EmployeeService employeeService,
+            @Value("${employee.api.batch.concurrency:4}") int concurrency,
+            @Value("${employee.api.batch.queue-capacity:2000}") int queueCapacity,
+            @Value("${employee.api.batch.timeout:10s}") Duration timeout,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.employeeService = employeeService;
+        this.timeout = timeout;
+        int capacity = Math.max(1, queueCapacity);
+        this.queueCapacity = capacity;
+        this.queueSlots = new Semaphore(capacity);
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("employee-batch-", 0).factory()
+                : Thread.ofPlatform().name("employee-batch-", 0).daemon().factory();
+        int threads = Math.max(1, concurrency);
+        // queueSlots admits no more items than the queue holds, so the executor never has to reject one itself.
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacity), threadFactory);
+    }
+
+    /**
+     * Creates {@code inputs}, which must already have passed {@link EmployeeBatchValidator}, and completes with one
+     * result per input in the same order.
+     *
+     * @throws RejectedExecutionException when the batch does not fit among the items already waiting
+     */
+    public CompletableFuture<List<CreateEmployeeBatchResult>> createEmployees(List<CreateEmployeeRequest> inputs) {
+        if (!queueSlots.tryAcquire(inputs.size())) {
+            logger.warn(
+                    "Rejecting batch of {} employees, {} of {} queue places free",
+                    inputs.size(),
+                    queueSlots.availablePermits(),
+                    queueCapacity);
+            throw new RejectedExecutionException("Too many batch items queued, retry later");
+        }
+        logger.info("Creating batch of {} employees", inputs.size());
+        List<CompletableFuture<CreateEmployeeBatchResult>> pending = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            int index = i;
+            CreateEmployeeRequest input = inputs.get(i);
+            pending.add(CompletableFuture.supplyAsync(
+                    () -> {
+                        try {
+                            return createEmployee(index, input);
+                        } finally {
+                            queueSlots.release();
+                        }
+                    },
+                    executor));
+        }
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            List<CreateEmployeeBatchResult> results = pending.stream().map(CompletableFuture::join).toList();
+            logger.info(
+                    "Batch of {} employees done: {} created",
+                    inputs.size(),
+                    results.stream()
+                            .filter(result -> result.getStatus() == CreateEmployeeBatchResult.Status.CREATED)
+                            .count());
+            return results;
+        });
+    }
+
+    private CreateEmployeeBatchResult createEmployee(int index, CreateEmployeeRequest input) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (int attempt = 1; ; attempt++) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                Employee employee = employeeService.createEmployee(input, Duration.ofNanos(Math.max(0, remaining)));
+                return employee != null
+                        ? CreateEmployeeBatchResult.created(index, employee)
+                        : CreateEmployeeBatchResult.failed(index, "Upstream did not return the created employee");
+            } catch (UpstreamRateLimitedException e) {
+                if (attempt >= MAX_ATTEMPTS || System.nanoTime() >= deadline) {
+                    return CreateEmployeeBatchResult.rateLimited(index, e.getRetryAfter());
+                }
+            } catch (RuntimeException e) {
+                logger.error("Error creating batch item {} for: {}", index, input.getName(), e);
+                return CreateEmployeeBatchResult.failed(index, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
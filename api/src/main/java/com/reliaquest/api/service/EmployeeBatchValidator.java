@@ -0,0 +1,56 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.dto.CreateEmployeeBatchResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates a whole {@code POST /employee/batch} before any of it is sent upstream, applying the same constraints as
+ * {@code @Valid} does for a single create, plus a cap on the batch size.
+ */
+@Component
+public class EmployeeBatchValidator {
+
+    private final Validator validator;
+    private final int maxSize;
+
+    @Autowired
+    public EmployeeBatchValidator(Validator validator, @Value("${employee.api.batch.max-size:1000}") int maxSize) {
+        this.validator = validator;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return an {@link CreateEmployeeBatchResult.Status#INVALID} result per rejected item, empty if the batch can be
+     *     submitted
+     */
+    public List<CreateEmployeeBatchResult> validate(List<CreateEmployeeRequest> inputs) {
+        List<CreateEmployeeBatchResult> invalid = new ArrayList<>();
+        if (inputs.size() > maxSize) {
+            invalid.add(CreateEmployeeBatchResult.invalid(
+                    maxSize, "Batch exceeds the maximum of " + maxSize + " employees"));
+            return invalid;
+        }
+        for (int i = 0; i < inputs.size(); i++) {
+            CreateEmployeeRequest input = inputs.get(i);
+            if (input == null) {
+                invalid.add(CreateEmployeeBatchResult.invalid(i, "Employee must not be null"));
+                continue;
+            }
+            List<String> violations = validator.validate(input).stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (!violations.isEmpty()) {
+                invalid.add(CreateEmployeeBatchResult.invalid(i, String.join("; ", violations)));
+            }
+        }
+        return invalid;
+    }
+}
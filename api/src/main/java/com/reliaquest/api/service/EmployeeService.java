@@ -1,61 +1,261 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeNameRegistry;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
 import com.reliaquest.api.dto.*;
 import com.reliaquest.api.enums.EmployeeEndpoint;
+import com.reliaquest.api.metrics.EmployeeApiMetrics;
 import com.reliaquest.api.model.Employee;
-import java.io.IOException;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import com.reliaquest.api.upstream.SingleFlight;
+import com.reliaquest.api.upstream.UpstreamRateLimitedException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 @Service
+@ConditionalOnProperty(name = "employee.api.reactive.enabled", havingValue = "false", matchIfMissing = true)
 public class EmployeeService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
 
+    private static final String SEQUENCE_HEADER = "X-Employee-Sequence";
+
+    /**
+     * Most ids a single multi-get may ask for.
+     */
+    public static final int MAX_LOOKUP_IDS = 1000;
+
+    /**
+     * Most names a single top-earners request may ask for; larger lists belong to the paged listing.
+     */
+    public static final int MAX_TOP_EARNERS = 1000;
+
+    // A multi-get missing ids refreshes the snapshot at most this often, so unknown ids cannot drive a list fetch
+    // per request.
+    static final Duration LOOKUP_REFRESH_INTERVAL = Duration.ofSeconds(5);
+
     private final RestTemplate restTemplate;
     private final String baseUrl;
+    private final int pageSize;
+    private final boolean ndjsonListing;
+    private final boolean incrementalSync;
     private final ObjectMapper objectMapper;
+    private final EmployeeStreamDecoder employeeDecoder;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final EmployeeNameRegistry nameRegistry;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final EmployeeApiMetrics metrics;
+
+    // Concurrent callers needing the same upstream resource share one in-flight request.
+    private final SingleFlight<String, EmployeeSnapshot> snapshotRefreshes = new SingleFlight<>();
+    private final SingleFlight<String, Employee> employeeLookups = new SingleFlight<>();
 
     @Autowired
     public EmployeeService(
-            RestTemplate restTemplate, @Value("${employee.api.base-url}") String baseUrl, ObjectMapper objectMapper) {
+            RestTemplate restTemplate,
+            @Value("${employee.api.base-url}") String baseUrl,
+            @Value("${employee.api.page-size:0}") int pageSize,
+            @Value("${employee.api.ndjson-listing:false}") boolean ndjsonListing,
+            @Value("${employee.api.incremental-sync:true}") boolean incrementalSync,
+            ObjectMapper objectMapper,
+            EmployeeStreamDecoder employeeDecoder,
+            EmployeeSnapshotCache snapshotCache,
+            EmployeeNameRegistry nameRegistry,
+            AdaptiveRateLimiter rateLimiter,
+            EmployeeApiMetrics metrics) {
         this.restTemplate = restTemplate;
         this.baseUrl = baseUrl;
+        this.pageSize = pageSize;
+        this.ndjsonListing = ndjsonListing;
+        this.incrementalSync = incrementalSync;
         this.objectMapper = objectMapper;
+        this.employeeDecoder = employeeDecoder;
+        this.snapshotCache = snapshotCache;
+        this.nameRegistry = nameRegistry;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
     }
 
     public List<Employee> getAllEmployees() {
+        EmployeeSnapshot snapshot = getSnapshot();
+        return preEncoded(snapshot, "employees", snapshot.employees(), objectMapper);
+    }
+
+    private EmployeeSnapshot getSnapshot() {
+        return snapshotCache.get(this::refreshSnapshot);
+    }
+
+    private EmployeeSnapshot refreshSnapshot(EmployeeSnapshot previous) {
+        return snapshotRefreshes.execute(EmployeeEndpoint.GET_ALL_EMPLOYEES.getPath(), () -> {
+            if (incrementalSync
+                    && previous != null
+                    && previous.upstreamSequence() != EmployeeSnapshot.UNKNOWN_SEQUENCE) {
+                EmployeeSnapshot synced = syncChanges(previous);
+                if (synced != null) {
+                    return synced;
+                }
+            }
+            UpstreamEmployees fetched = fetchAllEmployees();
+            EmployeeSnapshot snapshot = metrics.timeMapping(
+                    EmployeeEndpoint.GET_ALL_EMPLOYEES,
+                    () -> EmployeeSnapshot.next(previous, fetched.employees(), Instant.now(), fetched.sequence()));
+            nameRegistry.replaceAll(snapshot);
+            return snapshot;
+        });
+    }
+
+    /**
+     * Brings {@code previous} up to date from the upstream change feed.
+     *
+     * @return the updated snapshot, or {@code null} when the feed no longer covers {@code previous} and the full list
+     *     has to be fetched again
+     */
+    private EmployeeSnapshot syncChanges(EmployeeSnapshot previous) {
+        String url =
+                baseUrl + EmployeeEndpoint.GET_EMPLOYEE_CHANGES.getPath() + "?since=" + previous.upstreamSequence();
+        EmployeeStreamDecoder.Changes changes = callUpstream(() -> restTemplate.execute(
+                url,
+                HttpMethod.GET,
+                null,
+                response -> metrics.timeDecode(
+                        EmployeeEndpoint.GET_EMPLOYEE_CHANGES,
+                        () -> employeeDecoder.decodeChanges(response.getBody()))));
+        if (changes.resyncRequired()) {
+            logger.info(
+                    "Change feed no longer covers sequence {}, fetching all employees", previous.upstreamSequence());
+            return null;
+        }
+        logger.info(
+                "Applying {} creates and {} deletes up to sequence {}",
+                changes.created().size(),
+                changes.deletedIds().size(),
+                changes.latestSequence());
+        nameRegistry.update(changes.created(), changes.deletedIds());
+        return metrics.timeMapping(
+                EmployeeEndpoint.GET_EMPLOYEE_CHANGES,
+                () -> previous.withChanges(
+                        changes.created(), changes.deletedIds(), Instant.now(), changes.latestSequence()));
+    }
+
+    private UpstreamEmployees fetchAllEmployees() {
         String url = baseUrl + EmployeeEndpoint.GET_ALL_EMPLOYEES.getPath();
         logger.info("Fetching all employees from URL: {}", url);
-        String employeesDetails = restTemplate.getForObject(url, String.class);
-        List<Employee> employees = null;
+        UpstreamEmployees fetched;
+        if (ndjsonListing) {
+            fetched = fetchAllEmployeesAsNdjson(url);
+        } else if (pageSize > 0) {
+            fetched = fetchAllEmployeePages(url);
+        } else {
+            fetched = callUpstream(() -> restTemplate.execute(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    response -> new UpstreamEmployees(
+                            metrics.timeDecode(
+                                    EmployeeEndpoint.GET_ALL_EMPLOYEES,
+                                    () -> employeeDecoder.decodeList(response.getBody())),
+                            upstreamSequence(response))));
+        }
+        logger.info("Fetched {} employees", fetched.employees().size());
+        return fetched;
+    }
+
+    /**
+     * Fetches the whole list in one request as newline-delimited JSON, decoding it line by line as it arrives.
+     */
+    private UpstreamEmployees fetchAllEmployeesAsNdjson(String url) {
+        List<Employee> employees = new ArrayList<>();
+        long sequence = callUpstream(() -> restTemplate.execute(
+                url,
+                HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+                response -> {
+                    metrics.timeDecode(EmployeeEndpoint.GET_ALL_EMPLOYEES, () -> {
+                        employeeDecoder.decodeNdjson(response.getBody(), employees::add);
+                        return null;
+                    });
+                    return upstreamSequence(response);
+                }));
+        return new UpstreamEmployees(employees, sequence);
+    }
+
+    /**
+     * Pages through the list {@code pageSize} employees at a time, so no single response has to be buffered whole.
+     * Each page is a separate rate-limited upstream call. Only the first page's sequence is kept: changes made while
+     * later pages are read are picked up again from the change feed.
+     */
+    private UpstreamEmployees fetchAllEmployeePages(String url) {
+        List<Employee> employees = new ArrayList<>();
+        long sequence = EmployeeSnapshot.UNKNOWN_SEQUENCE;
+        String cursor = null;
+        do {
+            boolean firstPage = cursor == null;
+            String pageUrl = url + "?limit=" + pageSize
+                    + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+            UpstreamPage page = callUpstream(() -> restTemplate.execute(
+                    pageUrl,
+                    HttpMethod.GET,
+                    null,
+                    response -> new UpstreamPage(
+                            metrics.timeDecode(
+                                            EmployeeEndpoint.GET_ALL_EMPLOYEES,
+                                            () -> employeeDecoder.decodePage(response.getBody(), employees::add))
+                                    .nextCursor(),
+                            upstreamSequence(response))));
+            if (firstPage) {
+                sequence = page.sequence();
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return new UpstreamEmployees(employees, sequence);
+    }
+
+    /**
+     * The change feed position a listing reflects, from its {@code X-Employee-Sequence} header.
+     */
+    private static long upstreamSequence(ClientHttpResponse response) {
+        String sequence = response.getHeaders().getFirst(SEQUENCE_HEADER);
+        if (sequence == null) {
+            return EmployeeSnapshot.UNKNOWN_SEQUENCE;
+        }
         try {
-            GetAllEmployeeResponse response = objectMapper.readValue(employeesDetails, GetAllEmployeeResponse.class);
-            employees = EmployeeMapper.mapToEmployeeList(response);
-        } catch (IOException e) {
-            logger.error("Error deserializing response: {}", e.getMessage());
+            return Long.parseLong(sequence.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed {} header: {}", SEQUENCE_HEADER, sequence);
+            return EmployeeSnapshot.UNKNOWN_SEQUENCE;
         }
-        logger.info("Fetched {} employees", employees.size());
-        return employees;
     }
 
+    private record UpstreamEmployees(List<Employee> employees, long sequence) {}
+
+    private record UpstreamPage(String nextCursor, long sequence) {}
+
     public List<Employee> getEmployeesByNameSearch(String name) {
         logger.info("Searching employees by name: {}", name);
-        List<Employee> allEmployees = getAllEmployees();
-        List<Employee> filteredEmployees = allEmployees.stream()
-                .filter(employee -> employee.getName().toLowerCase().contains(name.toLowerCase()))
-                .collect(Collectors.toList());
+        List<Employee> filteredEmployees = getSnapshot().searchByName(name);
         logger.info("Found {} employees with search string: {}", filteredEmployees.size(), name);
         if (filteredEmployees.size() == 0) {
             logger.info("No employees found with search string: {}", name);
@@ -65,17 +265,29 @@ public class EmployeeService {
     }
 
     public Employee getEmployeeById(String id) {
+        Optional<Employee> cached = snapshotCache.peek().flatMap(snapshot -> snapshot.findById(id));
+        if (cached.isPresent()) {
+            logger.info("Serving employee {} from snapshot", id);
+            return cached.get();
+        }
+        return employeeLookups.execute(id, () -> fetchEmployeeById(id));
+    }
+
+    private Employee fetchEmployeeById(String id) {
         String url = baseUrl + EmployeeEndpoint.GET_EMPLOYEE_BY_ID.getPath() + id;
         logger.info("Fetching employee by ID from URL: {}", url);
         try {
-            String jsonResponse = restTemplate.getForObject(url, String.class);
-            GetSpecificEmployeeResponse employeeResponse =
-                    objectMapper.readValue(jsonResponse, GetSpecificEmployeeResponse.class);
+            String jsonResponse = callUpstream(() -> restTemplate.getForObject(url, String.class));
+            GetSpecificEmployeeResponse employeeResponse = metrics.timeDecode(
+                    EmployeeEndpoint.GET_EMPLOYEE_BY_ID,
+                    () -> objectMapper.readValue(jsonResponse, GetSpecificEmployeeResponse.class));
 
             if (employeeResponse.getData() != null) {
                 EmployeeDetailsResponse employeeDetails = employeeResponse.getData();
-                Employee employee = EmployeeMapper.mapToEmployee(employeeDetails);
+                Employee employee = metrics.timeMapping(
+                        EmployeeEndpoint.GET_EMPLOYEE_BY_ID, () -> EmployeeMapper.mapToEmployee(employeeDetails));
                 logger.info("Fetched employee: {}", employee.getId());
+                nameRegistry.register(employee);
                 return employee;
             } else {
                 logger.info("Employee not found with ID: {}", id);
@@ -84,55 +296,108 @@ public class EmployeeService {
         } catch (HttpClientErrorException.NotFound e) {
             logger.info("Employee not found with ID: {}", id);
             return null;
+        } catch (UpstreamRateLimitedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error fetching employee by ID: {}", id, e);
             return null;
         }
     }
 
-    public Integer getHighestSalaryOfEmployees() {
-        logger.info("Fetching all employees to determine highest salary");
-        List<Employee> employees = getAllEmployees();
-        if (employees == null || employees.isEmpty()) {
-            logger.info("No employees found");
-            return 0;
+    /**
+     * Looks up many employees at once, answering from the snapshot. Ids it does not hold are resolved by refreshing
+     * the snapshot once, rather than by one upstream call per id; any still missing after that are reported as not
+     * found.
+     *
+     * @return one result per requested id, in request order
+     */
+    public List<EmployeeLookupResult> getEmployeesByIds(List<String> ids) {
+        logger.info("Looking up {} employees by ID", ids.size());
+        EmployeeSnapshot snapshot = getSnapshot();
+        if (!containsAll(snapshot, ids)) {
+            snapshot = snapshotCache.refreshIfOlderThan(LOOKUP_REFRESH_INTERVAL, this::refreshSnapshot);
+        }
+        return lookUp(snapshot, ids);
+    }
+
+    static boolean containsAll(EmployeeSnapshot snapshot, List<String> ids) {
+        return ids.stream().allMatch(id -> snapshot.findById(id).isPresent());
+    }
+
+    static List<EmployeeLookupResult> lookUp(EmployeeSnapshot snapshot, List<String> ids) {
+        List<EmployeeLookupResult> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            results.add(snapshot.findById(id)
+                    .map(employee -> EmployeeLookupResult.found(id, employee))
+                    .orElseGet(() -> EmployeeLookupResult.notFound(id)));
         }
-        Integer highestSalary = employees.stream()
-                .max(Comparator.comparingInt(Employee::getSalary))
-                .map(Employee::getSalary)
-                .orElse(0);
+        logger.info(
+                "Found {} of {} employees by ID",
+                results.stream().filter(EmployeeLookupResult::isFound).count(),
+                ids.size());
+        return results;
+    }
+
+    public Integer getHighestSalaryOfEmployees() {
+        int highestSalary = getSnapshot().highestSalary();
         logger.info("Highest salary fetched: {}", highestSalary);
         return highestSalary;
     }
 
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        logger.info("Fetching all employees to determine top 10 highest earning employee names");
-        List<Employee> employees = getAllEmployees();
-        if (employees == null || employees.isEmpty()) {
-            logger.info("No employees found");
-            return List.of();
-        }
-        List<String> topTenHighestEarningEmployeeNames = employees.stream()
-                .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
-                .limit(10)
-                .map(Employee::getName)
-                .collect(Collectors.toList());
-        logger.info("Fetched top 10 highest earning employee names: {}", topTenHighestEarningEmployeeNames);
-        return topTenHighestEarningEmployeeNames;
+        EmployeeSnapshot snapshot = getSnapshot();
+        return preEncoded(snapshot, "top-ten", topHighestEarningEmployeeNames(snapshot, 10), objectMapper);
+    }
+
+    public List<String> getTopHighestEarningEmployeeNames(int limit) {
+        return topHighestEarningEmployeeNames(getSnapshot(), limit);
+    }
+
+    private static List<String> topHighestEarningEmployeeNames(EmployeeSnapshot snapshot, int limit) {
+        List<String> topHighestEarningEmployeeNames =
+                snapshot.topEarners(limit).stream().map(Employee::getName).collect(Collectors.toList());
+        logger.info("Fetched top {} highest earning employee names: {}", limit, topHighestEarningEmployeeNames);
+        return topHighestEarningEmployeeNames;
+    }
+
+    /**
+     * {@code values}, a response body derived from {@code snapshot} alone, with its JSON encoded once per snapshot
+     * under {@code key} instead of on every request that returns it.
+     */
+    static <E> List<E> preEncoded(EmployeeSnapshot snapshot, String key, List<E> values, ObjectMapper objectMapper) {
+        return new PreEncodedList<>(values, () -> snapshot.encodedResponse(key, () -> {
+            try {
+                return objectMapper.writeValueAsBytes(values);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
     }
 
     public Employee createEmployee(CreateEmployeeRequest employeeInput) {
+        return createEmployee(employeeInput, rateLimiter.getMaxQueueWait());
+    }
+
+    /**
+     * Creates an employee, waiting up to {@code maxPermitWait} rather than the configured queue wait for the rate
+     * limiter to admit the call.
+     */
+    public Employee createEmployee(CreateEmployeeRequest employeeInput, Duration maxPermitWait) {
         String url = baseUrl + EmployeeEndpoint.CREATE_EMPLOYEE.getPath();
         logger.info("Creating employee with input email: {}", employeeInput.getEmail());
-        GetSpecificEmployeeResponse employeeResponse =
-                restTemplate.postForObject(url, employeeInput, GetSpecificEmployeeResponse.class);
+        GetSpecificEmployeeResponse employeeResponse = callUpstream(
+                () -> restTemplate.postForObject(url, employeeInput, GetSpecificEmployeeResponse.class),
+                maxPermitWait);
 
         try {
             if (employeeResponse.getData() != null) {
                 EmployeeDetailsResponse employeeDetails = employeeResponse.getData();
-                Employee employee = EmployeeMapper.mapToEmployee(employeeDetails);
+                Employee employee = metrics.timeMapping(
+                        EmployeeEndpoint.CREATE_EMPLOYEE, () -> EmployeeMapper.mapToEmployee(employeeDetails));
 
                 logger.info("Created employee: {}", employee.getId());
+                nameRegistry.register(employee);
+                snapshotCache.update(snapshot -> snapshot.withAdded(employee));
                 return employee;
             } else {
                 logger.info("Error creating employee for: {}", employeeInput.getName());
@@ -145,38 +410,84 @@ public class EmployeeService {
     }
 
     public String deleteEmployeeById(String id) {
-        Employee employee = getEmployeeById(id);
-        if (employee == null) {
+        String name = resolveEmployeeName(id);
+        if (name == null) {
             logger.error("Employee not found with ID: {}", id);
             return "Employee not found";
         }
 
-        String name = employee.getName();
         String url = baseUrl + EmployeeEndpoint.DELETE_EMPLOYEE_BY_ID.getPath();
         logger.info("Deleting employee by name from URL: {}", url);
         DeleteEmployeeRequest input = new DeleteEmployeeRequest();
         input.setName(name);
         HttpEntity<DeleteEmployeeRequest> request = new HttpEntity<>(input);
         try {
-            String jsonResponse = restTemplate
+            String jsonResponse = callUpstream(() -> restTemplate
                     .exchange(url, HttpMethod.DELETE, request, String.class)
-                    .getBody();
-            DeleteEmployeeResponse deleteResponse = objectMapper.readValue(jsonResponse, DeleteEmployeeResponse.class);
+                    .getBody());
+            DeleteEmployeeResponse deleteResponse = metrics.timeDecode(
+                    EmployeeEndpoint.DELETE_EMPLOYEE_BY_ID,
+                    () -> objectMapper.readValue(jsonResponse, DeleteEmployeeResponse.class));
             Boolean isDeleted = deleteResponse.getData();
 
             if (isDeleted) {
                 logger.info("Deleted employee with name: {}", name);
+                nameRegistry.remove(id);
+                snapshotCache.update(snapshot -> snapshot.withRemoved(id));
                 return "Employee deleted successfully";
             } else {
                 logger.error("Employee already deleted or does not exist: {}", name);
+                nameRegistry.remove(id);
                 return "Failed to delete employee";
             }
         } catch (HttpServerErrorException.InternalServerError e) {
             logger.error("Internal server error while deleting employee with name: {}", name);
             return "Internal server error";
+        } catch (UpstreamRateLimitedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error deleting employee by name: {}", name, e);
             return "Error deleting employee";
         }
     }
+
+    /**
+     * Name the upstream needs to delete {@code id}: from the local registry when known, otherwise from a lookup.
+     */
+    private String resolveEmployeeName(String id) {
+        Optional<String> known = nameRegistry.nameOf(id);
+        if (known.isPresent()) {
+            return known.get();
+        }
+        Employee employee = getEmployeeById(id);
+        return employee == null ? null : employee.getName();
+    }
+
+    /**
+     * Runs an upstream call under the {@link AdaptiveRateLimiter}, feeding the outcome back into it and surfacing
+     * {@code 429} responses as {@link UpstreamRateLimitedException}.
+     */
+    private <T> T callUpstream(Supplier<T> call) {
+        return callUpstream(call, rateLimiter.getMaxQueueWait());
+    }
+
+    private <T> T callUpstream(Supplier<T> call, Duration maxPermitWait) {
+        rateLimiter.acquire(maxPermitWait);
+        try {
+            T result = call.get();
+            rateLimiter.onAdmitted();
+            return result;
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            rateLimiter.onRejected();
+            logger.warn("Upstream rejected request with 429");
+            throw new UpstreamRateLimitedException(
+                    "Upstream rate limit reached", rateLimiter.getEstimate().retryAfter());
+        } catch (HttpStatusCodeException e) {
+            rateLimiter.onAdmitted();
+            throw e;
+        } catch (RuntimeException e) {
+            rateLimiter.onFailed();
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,312 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decodes the mock server's employee list envelope ({@code {"data": [...], "status": ...}}) straight from the response
+ * stream into {@link Employee} instances, one element at a time, without materialising the body as a {@code String}
+ * or the intermediate {@code GetAllEmployeeResponse}/{@code EmployeeDetailsResponse[]} copies.
+ */
+@Component
+public class EmployeeStreamDecoder {
+
+    private static final String DATA_FIELD = "data";
+    private static final String NEXT_CURSOR_FIELD = "nextCursor";
+
+    private final JsonFactory jsonFactory;
+    private final ObjectReader employeeReader;
+
+    @Autowired
+    public EmployeeStreamDecoder(ObjectMapper objectMapper) {
+        ObjectMapper upstreamMapper = objectMapper.copy().addMixIn(Employee.class, UpstreamEmployeeMixIn.class);
+        this.jsonFactory = upstreamMapper.getFactory();
+        this.employeeReader = upstreamMapper.readerFor(Employee.class);
+    }
+
+    public List<Employee> decodeList(InputStream body) throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        decodeList(body, employees::add);
+        return employees;
+    }
+
+    /**
+     * Streams every element of the envelope's {@code data} array to {@code consumer}.
+     *
+     * @return the number of employees decoded
+     */
+    public int decodeList(InputStream body, Consumer<Employee> consumer) throws IOException {
+        return decodePage(body, consumer).count();
+    }
+
+    /**
+     * Like {@link #decodeList(InputStream, Consumer)} for one page of a paged listing, also returning the envelope's
+     * {@code nextCursor} (absent on the last page and on unpaged responses).
+     */
+    public Page decodePage(InputStream body, Consumer<Employee> consumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected employee list envelope");
+            }
+            int count = 0;
+            String nextCursor = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (DATA_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        consumer.accept(employeeReader.readValue(parser));
+                        count++;
+                    }
+                } else if (NEXT_CURSOR_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                    nextCursor = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Page(count, nextCursor);
+        }
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #decodeList(InputStream, Consumer)} for a body that arrives in chunks, such as
+     * a {@code WebClient} response: each chunk is parsed as it is fed in, and an employee goes to {@code consumer} as
+     * soon as its closing brace has arrived. Only the tokens of the element being parsed are held, however large the
+     * body.
+     */
+    public ChunkedListDecoder chunkedListDecoder(Consumer<Employee> consumer) throws IOException {
+        return new ChunkedListDecoder(jsonFactory.createNonBlockingByteArrayParser(), consumer);
+    }
+
+    /**
+     * Streams a newline-delimited JSON body (one upstream employee object per line) to {@code consumer}, holding only
+     * the current element in memory.
+     *
+     * @return the number of employees decoded
+     */
+    public int decodeNdjson(InputStream body, Consumer<Employee> consumer) throws IOException {
+        int count = 0;
+        try (MappingIterator<Employee> employees = employeeReader.readValues(body)) {
+            while (employees.hasNextValue()) {
+                consumer.accept(employees.nextValue());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Decodes the change feed envelope ({@code {"data": {"latestSequence", "resyncRequired", "changes": [...]}}}),
+     * splitting the changes into created employees and deleted ids.
+     */
+    public Changes decodeChanges(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected change feed envelope");
+            }
+            Changes changes = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (DATA_FIELD.equals(field) && value == JsonToken.START_OBJECT) {
+                    changes = decodeChangeFeed(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (changes == null) {
+                throw new JsonParseException(parser, "Change feed envelope without data");
+            }
+            return changes;
+        }
+    }
+
+    private Changes decodeChangeFeed(JsonParser parser) throws IOException {
+        long latestSequence = 0;
+        boolean resyncRequired = false;
+        List<Employee> created = new ArrayList<>();
+        List<String> deletedIds = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("latestSequence".equals(field)) {
+                latestSequence = parser.getLongValue();
+            } else if ("resyncRequired".equals(field)) {
+                resyncRequired = value == JsonToken.VALUE_TRUE;
+            } else if ("changes".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    decodeChange(parser, created, deletedIds);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new Changes(latestSequence, resyncRequired, created, deletedIds);
+    }
+
+    private void decodeChange(JsonParser parser, List<Employee> created, List<String> deletedIds)
+            throws IOException {
+        String type = null;
+        String id = null;
+        Employee employee = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("type".equals(field)) {
+                type = parser.getText();
+            } else if ("id".equals(field)) {
+                id = parser.getText();
+            } else if ("employee".equals(field) && value == JsonToken.START_OBJECT) {
+                employee = employeeReader.readValue(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if ("CREATE".equals(type) && employee != null) {
+            created.add(employee);
+        } else if ("DELETE".equals(type) && id != null) {
+            deletedIds.add(id);
+        }
+    }
+
+    /**
+     * @param latestSequence feed position the changes bring the reader up to
+     * @param resyncRequired set when the feed no longer covers the requested position; the lists are then empty
+     */
+    public record Changes(
+            long latestSequence, boolean resyncRequired, List<Employee> created, List<String> deletedIds) {}
+
+    /**
+     * @param nextCursor cursor for the following page, or {@code null} when there is none
+     */
+    public record Page(int count, String nextCursor) {}
+
+    /**
+     * Incremental parser of one employee list envelope. Not thread-safe; feed chunks in order from one subscriber.
+     */
+    public final class ChunkedListDecoder {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final Consumer<Employee> consumer;
+
+        // Nesting of the envelope around the element being parsed; 2 inside the data array.
+        private int depth;
+        private boolean inData;
+        private boolean complete;
+        private TokenBuffer element;
+        private int elementDepth;
+        private int count;
+
+        private ChunkedListDecoder(JsonParser parser, Consumer<Employee> consumer) {
+            this.parser = parser;
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.consumer = consumer;
+        }
+
+        /**
+         * Parses {@code chunk}, the next bytes of the body, passing on every employee it completes. The array is not
+         * kept, so it may be reused once this returns.
+         */
+        public void feed(byte[] chunk) throws IOException {
+            feeder.feedInput(chunk, 0, chunk.length);
+            drain();
+        }
+
+        /**
+         * Ends the body.
+         *
+         * @return the number of employees decoded
+         * @throws JsonParseException if the body stopped before the envelope was closed
+         */
+        public int finish() throws IOException {
+            feeder.endOfInput();
+            drain();
+            parser.close();
+            if (!complete) {
+                throw new JsonParseException(parser, "Truncated employee list envelope");
+            }
+            return count;
+        }
+
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (element != null) {
+                    collect(token);
+                } else if (depth == 0 && token != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Expected employee list envelope");
+                } else if (token.isStructStart()) {
+                    if (inData && depth == 2 && token == JsonToken.START_OBJECT) {
+                        element = new TokenBuffer(parser);
+                        collect(token);
+                        continue;
+                    }
+                    if (depth == 1 && token == JsonToken.START_ARRAY && DATA_FIELD.equals(parser.currentName())) {
+                        inData = true;
+                    }
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    if (depth == 2) {
+                        inData = false;
+                    }
+                    depth--;
+                    complete = depth == 0;
+                }
+            }
+        }
+
+        private void collect(JsonToken token) throws IOException {
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                elementDepth++;
+            } else if (token.isStructEnd() && --elementDepth == 0) {
+                try (JsonParser elementParser = element.asParser()) {
+                    consumer.accept(employeeReader.readValue(elementParser));
+                }
+                element = null;
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Maps the upstream {@code employee_*} property names onto {@link Employee} for this decoder only; the api's own
+     * responses keep serialising {@link Employee} with its plain property names.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    abstract static class UpstreamEmployeeMixIn {
+
+        @JsonProperty("employee_name")
+        private String name;
+
+        @JsonProperty("employee_salary")
+        private int salary;
+
+        @JsonProperty("employee_age")
+        private int age;
+
+        @JsonProperty("employee_title")
+        private String title;
+
+        @JsonProperty("employee_email")
+        private String email;
+    }
+}
@@ -0,0 +1,574 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeNameRegistry;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.dto.*;
+import com.reliaquest.api.enums.EmployeeEndpoint;
+import com.reliaquest.api.metrics.EmployeeApiMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import com.reliaquest.api.upstream.UpstreamRateLimitedException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService} on {@link WebClient}, enabled with
+ * {@code employee.api.reactive.enabled}. It shares the snapshot cache, name registry, rate limiter and metrics, so
+ * both behave the same towards callers and upstream; what differs is that nothing here waits on a thread. Upstream
+ * calls run on the client's event loop, a caller held back by the rate limiter waits on a timer, and results are
+ * {@link Mono}s and {@link Flux}es where the blocking service returns {@code null} for "not found".
+ *
+ * <p>The full listing is fetched in one request and decoded as it streams in: paging and NDJSON listing
+ * ({@code employee.api.page-size}, {@code employee.api.ndjson-listing}) are only implemented by
+ * {@link EmployeeService}. Incremental sync from the change feed is supported by both.
+ */
+@Service
+@ConditionalOnProperty(name = "employee.api.reactive.enabled", havingValue = "true")
+public class ReactiveEmployeeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeService.class);
+
+    private static final String SEQUENCE_HEADER = "X-Employee-Sequence";
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    private final WebClient webClient;
+    private final String baseUrl;
+    private final boolean incrementalSync;
+    private final int maxResponseBytes;
+    private final int batchConcurrency;
+    private final Duration batchTimeout;
+    private final ObjectMapper objectMapper;
+    private final EmployeeStreamDecoder employeeDecoder;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final EmployeeNameRegistry nameRegistry;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final EmployeeApiMetrics metrics;
+
+    // Concurrent lookups of the same id share one in-flight request.
+    private final ConcurrentMap<String, CompletableFuture<Employee>> employeeLookups = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReactiveEmployeeService(
+            WebClient upstreamWebClient,
+            @Value("${employee.api.base-url}") String baseUrl,
+            @Value("${employee.api.incremental-sync:true}") boolean incrementalSync,
+            @Value("${employee.api.reactive.max-response-size:16MB}") DataSize maxResponseSize,
+            @Value("${employee.api.batch.concurrency:4}") int batchConcurrency,
+            @Value("${employee.api.batch.timeout:10s}") Duration batchTimeout,
+            ObjectMapper objectMapper,
+            EmployeeStreamDecoder employeeDecoder,
+            EmployeeSnapshotCache snapshotCache,
+            EmployeeNameRegistry nameRegistry,
+            AdaptiveRateLimiter rateLimiter,
+            EmployeeApiMetrics metrics) {
+        this.webClient = upstreamWebClient;
+        this.baseUrl = baseUrl;
+        this.incrementalSync = incrementalSync;
+        this.maxResponseBytes = (int) Math.min(Integer.MAX_VALUE, maxResponseSize.toBytes());
+        this.batchConcurrency = Math.max(1, batchConcurrency);
+        this.batchTimeout = batchTimeout;
+        this.objectMapper = objectMapper;
+        this.employeeDecoder = employeeDecoder;
+        this.snapshotCache = snapshotCache;
+        this.nameRegistry = nameRegistry;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+    }
+
+    public Mono<List<Employee>> getAllEmployees() {
+        return getSnapshot()
+                .map(snapshot -> EmployeeService.preEncoded(snapshot, "employees", snapshot.employees(), objectMapper));
+    }
+
+    private Mono<EmployeeSnapshot> getSnapshot() {
+        // The refresh is shared with other callers, so one caller going away must not cancel it.
+        return Mono.defer(() -> Mono.fromFuture(
+                snapshotCache.getAsync(previous -> refreshSnapshot(previous).toFuture()), true));
+    }
+
+    private Mono<EmployeeSnapshot> refreshSnapshot(EmployeeSnapshot previous) {
+        if (incrementalSync && previous != null && previous.upstreamSequence() != EmployeeSnapshot.UNKNOWN_SEQUENCE) {
+            return syncChanges(previous).switchIfEmpty(Mono.defer(() -> fetchAllEmployees(previous)));
+        }
+        return fetchAllEmployees(previous);
+    }
+
+    /**
+     * Brings {@code previous} up to date from the upstream change feed; empty when the feed no longer covers
+     * {@code previous} and the full list has to be fetched again.
+     */
+    private Mono<EmployeeSnapshot> syncChanges(EmployeeSnapshot previous) {
+        String url =
+                baseUrl + EmployeeEndpoint.GET_EMPLOYEE_CHANGES.getPath() + "?since=" + previous.upstreamSequence();
+        return callUpstream(webClient
+                        .get()
+                        .uri(url)
+                        .exchangeToMono(response -> decode(
+                                response, EmployeeEndpoint.GET_EMPLOYEE_CHANGES, employeeDecoder::decodeChanges)))
+                .flatMap(changes -> {
+                    if (changes.resyncRequired()) {
+                        logger.info(
+                                "Change feed no longer covers sequence {}, fetching all employees",
+                                previous.upstreamSequence());
+                        return Mono.empty();
+                    }
+                    logger.info(
+                            "Applying {} creates and {} deletes up to sequence {}",
+                            changes.created().size(),
+                            changes.deletedIds().size(),
+                            changes.latestSequence());
+                    nameRegistry.update(changes.created(), changes.deletedIds());
+                    return Mono.just(metrics.timeMapping(
+                            EmployeeEndpoint.GET_EMPLOYEE_CHANGES,
+                            () -> previous.withChanges(
+                                    changes.created(),
+                                    changes.deletedIds(),
+                                    Instant.now(),
+                                    changes.latestSequence())));
+                });
+    }
+
+    private Mono<EmployeeSnapshot> fetchAllEmployees(EmployeeSnapshot previous) {
+        String url = baseUrl + EmployeeEndpoint.GET_ALL_EMPLOYEES.getPath();
+        logger.info("Fetching all employees from URL: {}", url);
+        return callUpstream(webClient.get().uri(url).exchangeToMono(response -> {
+                    long sequence = upstreamSequence(response.headers().asHttpHeaders());
+                    return decodeListing(response).map(employees -> new UpstreamEmployees(employees, sequence));
+                }))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Upstream returned an empty employee list")))
+                .map(fetched -> {
+                    logger.info("Fetched {} employees", fetched.employees().size());
+                    EmployeeSnapshot snapshot = metrics.timeMapping(
+                            EmployeeEndpoint.GET_ALL_EMPLOYEES,
+                            () -> EmployeeSnapshot.next(
+                                    previous, fetched.employees(), Instant.now(), fetched.sequence()));
+                    nameRegistry.replaceAll(snapshot);
+                    return snapshot;
+                });
+    }
+
+    private record UpstreamEmployees(List<Employee> employees, long sequence) {}
+
+    /**
+     * The change feed position a listing reflects, from its {@code X-Employee-Sequence} header.
+     */
+    private static long upstreamSequence(HttpHeaders headers) {
+        String sequence = headers.getFirst(SEQUENCE_HEADER);
+        if (sequence == null) {
+            return EmployeeSnapshot.UNKNOWN_SEQUENCE;
+        }
+        try {
+            return Long.parseLong(sequence.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed {} header: {}", SEQUENCE_HEADER, sequence);
+            return EmployeeSnapshot.UNKNOWN_SEQUENCE;
+        }
+    }
+
+    public Mono<List<Employee>> getEmployeesByNameSearch(String name) {
+        logger.info("Searching employees by name: {}", name);
+        return getSnapshot().flatMap(snapshot -> {
+            List<Employee> filteredEmployees = snapshot.searchByName(name);
+            logger.info("Found {} employees with search string: {}", filteredEmployees.size(), name);
+            if (filteredEmployees.isEmpty()) {
+                logger.info("No employees found with search string: {}", name);
+                return Mono.empty();
+            }
+            return Mono.just(filteredEmployees);
+        });
+    }
+
+    public Mono<Employee> getEmployeeById(String id) {
+        return Mono.defer(() -> {
+            Optional<Employee> cached = snapshotCache.peek().flatMap(snapshot -> snapshot.findById(id));
+            if (cached.isPresent()) {
+                logger.info("Serving employee {} from snapshot", id);
+                return Mono.just(cached.get());
+            }
+            CompletableFuture<Employee> lookup = new CompletableFuture<>();
+            CompletableFuture<Employee> inFlight = employeeLookups.putIfAbsent(id, lookup);
+            if (inFlight != null) {
+                return Mono.fromFuture(inFlight, true);
+            }
+            // Only started once the entry is in the map: a lookup shed for want of a permit fails while subscribing,
+            // and its removal has to come after the insertion or the failure would be served from the map for good.
+            fetchEmployeeById(id).toFuture().whenComplete((employee, error) -> {
+                employeeLookups.remove(id, lookup);
+                if (error != null) {
+                    lookup.completeExceptionally(error);
+                } else {
+                    lookup.complete(employee);
+                }
+            });
+            return Mono.fromFuture(lookup, true);
+        });
+    }
+
+    private Mono<Employee> fetchEmployeeById(String id) {
+        String url = baseUrl + EmployeeEndpoint.GET_EMPLOYEE_BY_ID.getPath() + id;
+        logger.info("Fetching employee by ID from URL: {}", url);
+        return callUpstream(webClient.get().uri(url).exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                        return response.releaseBody().then(Mono.<GetSpecificEmployeeResponse>empty());
+                    }
+                    return decode(
+                            response,
+                            EmployeeEndpoint.GET_EMPLOYEE_BY_ID,
+                            body -> objectMapper.readValue(body, GetSpecificEmployeeResponse.class));
+                }))
+                .mapNotNull(GetSpecificEmployeeResponse::getData)
+                .map(employeeDetails -> {
+                    Employee employee = metrics.timeMapping(
+                            EmployeeEndpoint.GET_EMPLOYEE_BY_ID, () -> EmployeeMapper.mapToEmployee(employeeDetails));
+                    logger.info("Fetched employee: {}", employee.getId());
+                    nameRegistry.register(employee);
+                    return employee;
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> logger.info("Employee not found with ID: {}", id)))
+                .onErrorResume(e -> !(e instanceof UpstreamRateLimitedException), e -> {
+                    logger.error("Error fetching employee by ID: {}", id, e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Reactive {@link EmployeeService#getEmployeesByIds}: answered from the snapshot, refreshing it once for ids it
+     * does not hold.
+     */
+    public Mono<List<EmployeeLookupResult>> getEmployeesByIds(List<String> ids) {
+        return getSnapshot()
+                .flatMap(snapshot -> {
+                    if (EmployeeService.containsAll(snapshot, ids)) {
+                        return Mono.just(snapshot);
+                    }
+                    return Mono.defer(() -> Mono.fromFuture(
+                            snapshotCache.refreshIfOlderThanAsync(
+                                    EmployeeService.LOOKUP_REFRESH_INTERVAL,
+                                    previous -> refreshSnapshot(previous).toFuture()),
+                            true));
+                })
+                .map(snapshot -> EmployeeService.lookUp(snapshot, ids));
+    }
+
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        return getSnapshot().map(snapshot -> {
+            int highestSalary = snapshot.highestSalary();
+            logger.info("Highest salary fetched: {}", highestSalary);
+            return highestSalary;
+        });
+    }
+
+    public Mono<List<String>> getTopTenHighestEarningEmployeeNames() {
+        return getSnapshot().map(snapshot -> EmployeeService.preEncoded(
+                snapshot,
+                "top-ten",
+                snapshot.topEarners(10).stream().map(Employee::getName).toList(),
+                objectMapper));
+    }
+
+    public Flux<String> getTopHighestEarningEmployeeNames(int limit) {
+        return getSnapshot()
+                .flatMapIterable(snapshot -> snapshot.topEarners(limit))
+                .map(Employee::getName);
+    }
+
+    public Mono<Employee> createEmployee(CreateEmployeeRequest employeeInput) {
+        return Mono.defer(() -> createEmployee(employeeInput, permitDeadline(rateLimiter.getMaxQueueWait())));
+    }
+
+    /**
+     * Reactive {@link EmployeeBatchService#createEmployees}: the same per-item results, retries and time budget, with
+     * up to {@code employee.api.batch.concurrency} creates of this batch in flight.
+     */
+    public Flux<CreateEmployeeBatchResult> createEmployees(List<CreateEmployeeRequest> inputs) {
+        return Flux.defer(() -> {
+            logger.info("Creating batch of {} employees", inputs.size());
+            // flatMapSequential maps an item once a slot is free, so each budget starts when its item does.
+            return Flux.range(0, inputs.size())
+                    .flatMapSequential(
+                            index -> createBatchItem(index, inputs.get(index), permitDeadline(batchTimeout), 1),
+                            batchConcurrency);
+        });
+    }
+
+    private Mono<CreateEmployeeBatchResult> createBatchItem(
+            int index, CreateEmployeeRequest input, long deadline, int attempt) {
+        return createEmployee(input, deadline)
+                .map(employee -> CreateEmployeeBatchResult.created(index, employee))
+                .defaultIfEmpty(
+                        CreateEmployeeBatchResult.failed(index, "Upstream did not return the created employee"))
+                .onErrorResume(UpstreamRateLimitedException.class, e -> {
+                    if (attempt >= MAX_BATCH_ATTEMPTS || System.nanoTime() >= deadline) {
+                        return Mono.just(CreateEmployeeBatchResult.rateLimited(index, e.getRetryAfter()));
+                    }
+                    return createBatchItem(index, input, deadline, attempt + 1);
+                })
+                .onErrorResume(e -> !(e instanceof UpstreamRateLimitedException), e -> {
+                    logger.error("Error creating batch item {} for: {}", index, input.getName(), e);
+                    return Mono.just(CreateEmployeeBatchResult.failed(index, e.getMessage()));
+                });
+    }
+
+    private Mono<Employee> createEmployee(CreateEmployeeRequest employeeInput, long permitDeadline) {
+        String url = baseUrl + EmployeeEndpoint.CREATE_EMPLOYEE.getPath();
+        logger.info("Creating employee with input email: {}", employeeInput.getEmail());
+        return callUpstream(webClient
+                        .post()
+                        .uri(url)
+                        .bodyValue(employeeInput)
+                        .exchangeToMono(response -> decode(
+                                response,
+                                EmployeeEndpoint.CREATE_EMPLOYEE,
+                                body -> objectMapper.readValue(body, GetSpecificEmployeeResponse.class))),
+                        permitDeadline)
+                .flatMap(employeeResponse -> {
+                    if (employeeResponse.getData() == null) {
+                        logger.info("Error creating employee for: {}", employeeInput.getName());
+                        return Mono.empty();
+                    }
+                    EmployeeDetailsResponse employeeDetails = employeeResponse.getData();
+                    try {
+                        Employee employee = metrics.timeMapping(
+                                EmployeeEndpoint.CREATE_EMPLOYEE, () -> EmployeeMapper.mapToEmployee(employeeDetails));
+                        logger.info("Created employee: {}", employee.getId());
+                        nameRegistry.register(employee);
+                        snapshotCache.update(snapshot -> snapshot.withAdded(employee));
+                        return Mono.just(employee);
+                    } catch (Exception e) {
+                        logger.error("Error creating employee for: {}", employeeInput.getName(), e);
+                        return Mono.empty();
+                    }
+                });
+    }
+
+    public Mono<String> deleteEmployeeById(String id) {
+        return resolveEmployeeName(id)
+                .flatMap(name -> deleteEmployeeByName(id, name))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.error("Employee not found with ID: {}", id);
+                    return "Employee not found";
+                }));
+    }
+
+    private Mono<String> deleteEmployeeByName(String id, String name) {
+        String url = baseUrl + EmployeeEndpoint.DELETE_EMPLOYEE_BY_ID.getPath();
+        logger.info("Deleting employee by name from URL: {}", url);
+        DeleteEmployeeRequest input = new DeleteEmployeeRequest();
+        input.setName(name);
+        return callUpstream(webClient
+                        .method(HttpMethod.DELETE)
+                        .uri(url)
+                        .bodyValue(input)
+                        .exchangeToMono(response -> decode(
+                                response,
+                                EmployeeEndpoint.DELETE_EMPLOYEE_BY_ID,
+                                body -> objectMapper.readValue(body, DeleteEmployeeResponse.class))))
+                .map(deleteResponse -> {
+                    nameRegistry.remove(id);
+                    if (Boolean.TRUE.equals(deleteResponse.getData())) {
+                        logger.info("Deleted employee with name: {}", name);
+                        snapshotCache.update(snapshot -> snapshot.withRemoved(id));
+                        return "Employee deleted successfully";
+                    }
+                    logger.error("Employee already deleted or does not exist: {}", name);
+                    return "Failed to delete employee";
+                })
+                .defaultIfEmpty("Error deleting employee")
+                .onErrorResume(WebClientResponseException.InternalServerError.class, e -> {
+                    logger.error("Internal server error while deleting employee with name: {}", name);
+                    return Mono.just("Internal server error");
+                })
+                .onErrorResume(e -> !(e instanceof UpstreamRateLimitedException), e -> {
+                    logger.error("Error deleting employee by name: {}", name, e);
+                    return Mono.just("Error deleting employee");
+                });
+    }
+
+    /**
+     * Name the upstream needs to delete {@code id}: from the local registry when known, otherwise from a lookup.
+     */
+    private Mono<String> resolveEmployeeName(String id) {
+        return Mono.defer(() -> {
+            Optional<String> known = nameRegistry.nameOf(id);
+            return known.isPresent() ? Mono.just(known.get()) : getEmployeeById(id).map(Employee::getName);
+        });
+    }
+
+    /**
+     * Decodes a successful listing body as it arrives, on the event loop but without blocking: each chunk is parsed
+     * incrementally and released, so besides the decoded list only the tokens of the element in progress are held.
+     * The body is still limited to {@code employee.api.reactive.max-response-size}. Error statuses become
+     * {@link WebClientResponseException}s.
+     */
+    private Mono<List<Employee>> decodeListing(ClientResponse response) {
+        if (response.statusCode().isError()) {
+            return response.createError();
+        }
+        return Mono.defer(() -> {
+            ListingDecode listing = new ListingDecode();
+            return response.bodyToFlux(DataBuffer.class)
+                    .doOnNext(listing::feed)
+                    .then(Mono.fromSupplier(listing::finish));
+        });
+    }
+
+    /*
+     * Per-response state of decodeListing: the decoder, the bytes seen against the size limit, and the time spent
+     * decoding, recorded once as a whole so the decode timer counts responses rather than chunks.
+     */
+    private final class ListingDecode {
+
+        private final List<Employee> employees = new ArrayList<>();
+        private final EmployeeStreamDecoder.ChunkedListDecoder decoder;
+        private long bytes;
+        private long decodeNanos;
+
+        private ListingDecode() {
+            try {
+                this.decoder = employeeDecoder.chunkedListDecoder(employees::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void feed(DataBuffer buffer) {
+            try {
+                bytes += buffer.readableByteCount();
+                if (bytes > maxResponseBytes) {
+                    throw new DataBufferLimitException("Exceeded limit on max bytes to buffer : " + maxResponseBytes);
+                }
+                byte[] chunk = new byte[buffer.readableByteCount()];
+                buffer.read(chunk);
+                long start = System.nanoTime();
+                decoder.feed(chunk);
+                decodeNanos += System.nanoTime() - start;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        // Null, so the Mono is empty, when there was no body at all.
+        List<Employee> finish() {
+            if (bytes == 0) {
+                return null;
+            }
+            long start = System.nanoTime();
+            try {
+                decoder.finish();
+                return employees;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                metrics.recordDecode(EmployeeEndpoint.GET_ALL_EMPLOYEES, decodeNanos + System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Aggregates a successful response body, up to {@code employee.api.reactive.max-response-size}, and decodes it
+     * with the same decoders as the blocking service. Those decoders read an {@link InputStream}, so the decode is
+     * moved off the event loop to {@link Schedulers#boundedElastic()}; each call holds at most one aggregated body.
+     * Error statuses become {@link WebClientResponseException}s.
+     */
+    private <T> Mono<T> decode(ClientResponse response, EmployeeEndpoint endpoint, BodyDecoder<T> decoder) {
+        if (response.statusCode().isError()) {
+            return response.createError();
+        }
+        return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), maxResponseBytes)
+                .publishOn(Schedulers.boundedElastic())
+                .map(buffer -> {
+                    try (InputStream body = buffer.asInputStream(true)) {
+                        return metrics.timeDecode(endpoint, () -> decoder.decode(body));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface BodyDecoder<T> {
+        T decode(InputStream body) throws IOException;
+    }
+
+    /**
+     * Runs an upstream call under the {@link AdaptiveRateLimiter} like {@link EmployeeService} does, except that
+     * waiting for a permit is a timer rather than a sleeping thread.
+     */
+    private <T> Mono<T> callUpstream(Mono<T> call) {
+        return Mono.defer(() -> callUpstream(call, permitDeadline(rateLimiter.getMaxQueueWait())));
+    }
+
+    /**
+     * @param permitDeadline {@link System#nanoTime()} after which the call is shed rather than kept waiting for a
+     *     permit
+     */
+    private <T> Mono<T> callUpstream(Mono<T> call, long permitDeadline) {
+        return acquirePermit(permitDeadline)
+                .then(Mono.defer(() -> call.doOnSuccess(result -> rateLimiter.onAdmitted())
+                        .doOnCancel(rateLimiter::onFailed)
+                        .onErrorMap(this::recordFailure)));
+    }
+
+    private static long permitDeadline(Duration maxWait) {
+        return System.nanoTime() + maxWait.toNanos();
+    }
+
+    private Mono<Void> acquirePermit(long deadline) {
+        return Mono.defer(() -> {
+            long waitNanos = rateLimiter.tryAcquire();
+            if (waitNanos == 0) {
+                return Mono.empty();
+            }
+            if (System.nanoTime() + waitNanos > deadline) {
+                return Mono.error(new UpstreamRateLimitedException(
+                        "Upstream rate limit reached, shedding request", Duration.ofNanos(waitNanos)));
+            }
+            return Mono.delay(Duration.ofNanos(waitNanos)).then(acquirePermit(deadline));
+        });
+    }
+
+    private Throwable recordFailure(Throwable e) {
+        if (e instanceof WebClientResponseException.TooManyRequests) {
+            rateLimiter.onRejected();
+            logger.warn("Upstream rejected request with 429");
+            return new UpstreamRateLimitedException(
+                    "Upstream rate limit reached", rateLimiter.getEstimate().retryAfter());
+        }
+        if (e instanceof WebClientResponseException) {
+            rateLimiter.onAdmitted();
+        } else {
+            rateLimiter.onFailed();
+        }
+        return e;
+    }
+}
@@ -0,0 +1,349 @@
+package com.reliaquest.api.upstream;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client-side limiter for calls to the mock employee server, which admits a fixed number of requests and then rejects
+ * everything with {@code 429} until a backoff period has passed since the last admitted request.
+ *
+ * <p>Neither number is published, so both are learned from the responses:
+ * <ul>
+ *   <li><b>limit</b> - while unconfirmed, each window allows one request beyond the current estimate; if it is admitted
+ *   the estimate grows, if it is rejected the number of requests admitted in that window becomes the confirmed
+ *   limit.</li>
+ *   <li><b>backoff</b> - once blocked, a single probe is let through when the estimated backoff has elapsed since the
+ *   last admitted request. A rejected probe raises the lower bound (and the next wait); an admitted probe gives an
+ *   upper bound that is used from then on.</li>
+ * </ul>
+ *
+ * <p>Once upstream publishes its limits ({@code X-RateLimit-*} and {@code Retry-After} headers, see
+ * {@link RateLimitHeadersInterceptor}) they replace the learned estimates: calls are paced on the published remaining
+ * count and, once it is spent, held until the published reset time, after which a single probe refreshes them.
+ *
+ * <p>Callers that would have to wait longer than {@code maxQueueWait} for a permit are shed with an
+ * {@link UpstreamRateLimitedException} instead of spending a request on a certain {@code 429}.
+ */
+@Component
+public class AdaptiveRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveRateLimiter.class);
+
+    private static final long PROBE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration maxQueueWait;
+    private final LongSupplier nanoTime;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int limitEstimate;
+    private boolean limitConfirmed;
+    private long backoffLowerBoundNanos;
+    private long backoffUpperBoundNanos = UNKNOWN;
+
+    private boolean blocked;
+    private boolean rejectedWhileBlocked;
+    private boolean probeInFlight;
+    private int issuedInWindow;
+    private int admittedInWindow;
+    private long lastAdmittedNanos;
+
+    private boolean published;
+    private int publishedRemaining;
+    private long publishedResetAtNanos;
+
+    @Autowired
+    public AdaptiveRateLimiter(
+            @Value("${employee.api.rate-limit.initial-limit:5}") int initialLimit,
+            @Value("${employee.api.rate-limit.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${employee.api.rate-limit.max-backoff:120s}") Duration maxBackoff,
+            @Value("${employee.api.rate-limit.max-queue-wait:2s}") Duration maxQueueWait) {
+        this(initialLimit, initialBackoff, maxBackoff, maxQueueWait, System::nanoTime);
+    }
+
+    public AdaptiveRateLimiter(
+            int initialLimit, Duration initialBackoff, Duration maxBackoff, Duration maxQueueWait, LongSupplier nanoTime) {
+        this.limitEstimate = Math.max(1, initialLimit);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxQueueWait = maxQueueWait;
+        this.nanoTime = nanoTime;
+        this.lastAdmittedNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Blocks until a permit is available, or sheds the call when that would take longer than {@code maxQueueWait}.
+     *
+     * @throws UpstreamRateLimitedException when the call is shed
+     */
+    public void acquire() {
+        acquire(maxQueueWait);
+    }
+
+    /**
+     * Like {@link #acquire()}, but waits up to {@code maxWait} instead of {@code maxQueueWait}, for callers such as
+     * batch imports that would rather wait out a backoff than fail.
+     *
+     * @throws UpstreamRateLimitedException when no permit is expected within {@code maxWait}
+     */
+    public void acquire(Duration maxWait) {
+        long deadline = nanoTime.getAsLong() + maxWait.toNanos();
+        while (true) {
+            long waitNanos = tryAcquire();
+            if (waitNanos == 0) {
+                return;
+            }
+            if (nanoTime.getAsLong() + waitNanos > deadline) {
+                throw new UpstreamRateLimitedException(
+                        "Upstream rate limit reached, shedding request", Duration.ofNanos(waitNanos));
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UpstreamRateLimitedException(
+                        "Interrupted while waiting for upstream permit", Duration.ofNanos(waitNanos));
+            }
+        }
+    }
+
+    /**
+     * Takes a permit if one is available without waiting.
+     *
+     * @return {@code 0} if a permit was taken, otherwise the nanoseconds to wait before trying again
+     */
+    public long tryAcquire() {
+        lock.lock();
+        try {
+            long now = nanoTime.getAsLong();
+            if (published) {
+                return tryAcquirePublished(now);
+            }
+            if (blocked) {
+                long resumeAt = lastAdmittedNanos + backoffEstimateNanos();
+                if (now < resumeAt) {
+                    return resumeAt - now;
+                }
+                if (probeInFlight) {
+                    return PROBE_POLL_NANOS;
+                }
+                probeInFlight = true;
+                return 0;
+            }
+            int allowed = limitConfirmed ? limitEstimate : limitEstimate + 1;
+            if (issuedInWindow < allowed) {
+                issuedInWindow++;
+                return 0;
+            }
+            // Our own budget for this window is spent; expect the server to block us from the last admission on.
+            blocked = true;
+            return Math.max(PROBE_POLL_NANOS, lastAdmittedNanos + backoffEstimateNanos() - now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long tryAcquirePublished(long now) {
+        if (publishedRemaining > 0) {
+            publishedRemaining--;
+            return 0;
+        }
+        if (now < publishedResetAtNanos) {
+            return publishedResetAtNanos - now;
+        }
+        if (probeInFlight) {
+            return PROBE_POLL_NANOS;
+        }
+        probeInFlight = true;
+        return 0;
+    }
+
+    /**
+     * Records the limits upstream published on a response. Requests already in flight are not subtracted from
+     * {@code remaining}; any overshoot is corrected by the {@code Retry-After} on the resulting {@code 429}.
+     *
+     * @param limit requests upstream admits per window
+     * @param remaining requests upstream will still admit
+     * @param reset time until upstream admits requests again once {@code remaining} is spent
+     */
+    public void onPublishedLimits(int limit, int remaining, Duration reset) {
+        lock.lock();
+        try {
+            if (!published) {
+                logger.info("Upstream publishes its rate limit ({} requests), pacing on its headers", limit);
+            }
+            published = true;
+            limitEstimate = Math.max(1, limit);
+            limitConfirmed = true;
+            publishedRemaining = Math.max(0, remaining);
+            publishedResetAtNanos = nanoTime.getAsLong() + reset.toNanos();
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that upstream accepted a request (any response other than {@code 429}).
+     */
+    public void onAdmitted() {
+        lock.lock();
+        try {
+            if (published) {
+                return;
+            }
+            long now = nanoTime.getAsLong();
+            if (blocked && probeInFlight) {
+                long waited = now - lastAdmittedNanos;
+                // Only a block upstream actually enforced tells us anything about its backoff.
+                if (rejectedWhileBlocked
+                        && (backoffUpperBoundNanos == UNKNOWN || waited < backoffUpperBoundNanos)) {
+                    backoffUpperBoundNanos = Math.max(waited, backoffLowerBoundNanos);
+                }
+                // The mock server does not count the request that ends its backoff, so a fresh window starts here.
+                blocked = false;
+                rejectedWhileBlocked = false;
+                probeInFlight = false;
+                issuedInWindow = 0;
+                admittedInWindow = 0;
+                lastAdmittedNanos = now;
+                logger.info("Upstream admitted probe after {}ms, resuming", TimeUnit.NANOSECONDS.toMillis(waited));
+                return;
+            }
+            admittedInWindow++;
+            lastAdmittedNanos = now;
+            if (!limitConfirmed && admittedInWindow > limitEstimate) {
+                limitEstimate = admittedInWindow;
+                logger.info("Raised upstream request limit estimate to {}", limitEstimate);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a {@code 429} from upstream.
+     */
+    public void onRejected() {
+        lock.lock();
+        try {
+            long now = nanoTime.getAsLong();
+            if (published) {
+                // The response's headers have normally set the reset time already; this covers a 429 without them.
+                probeInFlight = false;
+                publishedRemaining = 0;
+                if (publishedResetAtNanos <= now) {
+                    publishedResetAtNanos = now + backoffEstimateNanos();
+                }
+                return;
+            }
+            rejectedWhileBlocked = true;
+            if (blocked && probeInFlight) {
+                probeInFlight = false;
+                raiseBackoffLowerBound(now - lastAdmittedNanos);
+                logger.info(
+                        "Upstream still rejecting after {}ms, next probe in {}ms",
+                        TimeUnit.NANOSECONDS.toMillis(now - lastAdmittedNanos),
+                        TimeUnit.NANOSECONDS.toMillis(backoffEstimateNanos()));
+                return;
+            }
+            if (admittedInWindow > 0) {
+                limitEstimate = admittedInWindow;
+                limitConfirmed = true;
+                raiseBackoffLowerBound(now - lastAdmittedNanos);
+            } else if (!blocked) {
+                // Rejected without having been admitted in this window (e.g. started mid-backoff): time from now.
+                lastAdmittedNanos = now;
+            }
+            blocked = true;
+            logger.info(
+                    "Upstream rejected request; limit estimate {} ({}), backoff estimate {}ms",
+                    limitEstimate,
+                    limitConfirmed ? "confirmed" : "unconfirmed",
+                    TimeUnit.NANOSECONDS.toMillis(backoffEstimateNanos()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call that failed without a response (connect or read error).
+     */
+    public void onFailed() {
+        lock.lock();
+        try {
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Longest a caller may wait for a permit before being shed; non-blocking callers pacing themselves with
+     * {@link #tryAcquire()} apply it the way {@link #acquire()} does.
+     */
+    public Duration getMaxQueueWait() {
+        return maxQueueWait;
+    }
+
+    public Estimate getEstimate() {
+        lock.lock();
+        try {
+            long now = nanoTime.getAsLong();
+            Duration backoff = Duration.ofNanos(backoffEstimateNanos());
+            if (published) {
+                long retryAfter = publishedRemaining > 0 ? 0 : Math.max(0, publishedResetAtNanos - now);
+                return new Estimate(
+                        limitEstimate, true, backoff, publishedRemaining, retryAfter > 0, Duration.ofNanos(retryAfter));
+            }
+            if (blocked) {
+                long retryAt = lastAdmittedNanos + backoffEstimateNanos();
+                return new Estimate(
+                        limitEstimate, limitConfirmed, backoff, 0, true, Duration.ofNanos(Math.max(0, retryAt - now)));
+            }
+            int remaining = Math.max(0, limitEstimate - issuedInWindow);
+            return new Estimate(limitEstimate, limitConfirmed, backoff, remaining, false, Duration.ZERO);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void raiseBackoffLowerBound(long observedNanos) {
+        backoffLowerBoundNanos = Math.max(backoffLowerBoundNanos, observedNanos);
+        if (backoffUpperBoundNanos != UNKNOWN && backoffUpperBoundNanos <= backoffLowerBoundNanos) {
+            // Upstream's backoff changed; relearn it.
+            backoffUpperBoundNanos = UNKNOWN;
+        }
+    }
+
+    private long backoffEstimateNanos() {
+        if (backoffUpperBoundNanos != UNKNOWN) {
+            return backoffUpperBoundNanos;
+        }
+        long grown = backoffLowerBoundNanos + backoffLowerBoundNanos / 4;
+        return Math.min(maxBackoff.toNanos(), Math.max(initialBackoff.toNanos(), grown));
+    }
+
+    /**
+     * Current view of upstream's limits.
+     *
+     * @param limit requests upstream is believed to admit per window
+     * @param limitConfirmed whether {@code limit} was observed from a rejection rather than assumed
+     * @param backoff how long upstream is believed to block after the limit is reached
+     * @param remaining permits left in the current window
+     * @param blocked whether calls are currently being held back
+     * @param retryAfter time until the next call may be attempted
+     */
+    public record Estimate(
+            int limit, boolean limitConfirmed, Duration backoff, int remaining, boolean blocked, Duration retryAfter) {}
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.upstream;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link RateLimitHeadersInterceptor} for {@code WebClient}: feeds the rate-limit headers on each upstream response
+ * into the {@link AdaptiveRateLimiter}.
+ */
+public class RateLimitHeadersFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    public RateLimitHeadersFilter(AdaptiveRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return next.exchange(request)
+                .doOnNext(response -> RateLimitHeadersInterceptor.publish(
+                        rateLimiter, response.statusCode(), response.headers().asHttpHeaders()));
+    }
+}
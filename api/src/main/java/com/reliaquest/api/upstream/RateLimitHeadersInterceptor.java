@@ -0,0 +1,76 @@
+package com.reliaquest.api.upstream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.OptionalLong;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Feeds the rate-limit headers upstream sends ({@code X-RateLimit-Limit}, {@code X-RateLimit-Remaining},
+ * {@code X-RateLimit-Reset} and, on {@code 429}, {@code Retry-After}) into the {@link AdaptiveRateLimiter}. Responses
+ * without them are left to the limiter's own learning.
+ */
+public class RateLimitHeadersInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    public RateLimitHeadersInterceptor(AdaptiveRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        publish(rateLimiter, response.getStatusCode(), response.getHeaders());
+        return response;
+    }
+
+    /**
+     * Passes the limits in {@code headers} to {@code rateLimiter}, if the response carries them.
+     */
+    static void publish(AdaptiveRateLimiter rateLimiter, HttpStatusCode status, HttpHeaders headers) {
+        OptionalLong limit = parse(headers, LIMIT_HEADER);
+        OptionalLong remaining = parse(headers, REMAINING_HEADER);
+        if (limit.isEmpty() || remaining.isEmpty()) {
+            return;
+        }
+        OptionalLong resetSeconds = status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                ? parse(headers, HttpHeaders.RETRY_AFTER)
+                : OptionalLong.empty();
+        if (resetSeconds.isEmpty()) {
+            resetSeconds = parse(headers, RESET_HEADER);
+        }
+        rateLimiter.onPublishedLimits(
+                (int) Math.min(Integer.MAX_VALUE, limit.getAsLong()),
+                (int) Math.min(Integer.MAX_VALUE, remaining.getAsLong()),
+                Duration.ofSeconds(resetSeconds.orElse(0)));
+    }
+
+    /**
+     * Non-negative integer value of {@code name}. {@code Retry-After} may also be an HTTP date, which the mock server
+     * never sends; such values are ignored.
+     */
+    private static OptionalLong parse(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return OptionalLong.empty();
+        }
+        try {
+            long parsed = Long.parseLong(value.trim());
+            return parsed < 0 ? OptionalLong.empty() : OptionalLong.of(parsed);
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
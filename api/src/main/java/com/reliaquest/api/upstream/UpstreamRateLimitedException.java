@@ -0,0 +1,21 @@
+package com.reliaquest.api.upstream;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an upstream call was rejected with {@code 429 Too Many Requests}, or was shed locally because the
+ * {@link AdaptiveRateLimiter} expects it would be.
+ */
+public class UpstreamRateLimitedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public UpstreamRateLimitedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,11 +1,13 @@
 package com.reliaquest.api;
 
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootTest
@@ -24,4 +26,10 @@ public class ApiApplicationTest {
         RestTemplate restTemplate = applicationContext.getBean(RestTemplate.class);
         assertNotNull(restTemplate);
     }
+
+    @Test
+    public void restTemplateUsesPooledHttpClient() {
+        RestTemplate restTemplate = applicationContext.getBean(RestTemplate.class);
+        assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+    }
 }
@@ -0,0 +1,36 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.config.UpstreamConnectionPoolMonitor;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.controller.ReactiveEmployeeController;
+import com.reliaquest.api.service.EmployeeBatchService;
+import com.reliaquest.api.service.EmployeeService;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@SpringBootTest(properties = "employee.api.reactive.enabled=true")
+public class ReactiveApiApplicationTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    public void reactiveStackReplacesBlockingStack() {
+        assertEquals(1, applicationContext.getBeanNamesForType(ReactiveEmployeeController.class).length);
+        assertEquals(1, applicationContext.getBeanNamesForType(WebClient.class).length);
+
+        assertEquals(0, applicationContext.getBeanNamesForType(EmployeeController.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(EmployeeService.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(EmployeeBatchService.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(RestTemplate.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(PoolingHttpClientConnectionManager.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(UpstreamConnectionPoolMonitor.class).length);
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class EmployeeNameRegistryTest {
+
+    private final EmployeeNameRegistry registry = new EmployeeNameRegistry();
+
+    @Test
+    void testReplaceAllDropsEmployeesNoLongerListed() {
+        registry.replaceAll(List.of(employee("1", "Shubham Patil"), employee("2", "Jane Doe")));
+        registry.replaceAll(List.of(employee("2", "Jane Roe"), employee("3", "John Doe")));
+
+        assertTrue(registry.nameOf("1").isEmpty());
+        assertEquals(Optional.of("Jane Roe"), registry.nameOf("2"));
+        assertEquals(Optional.of("John Doe"), registry.nameOf("3"));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void testRegisterAndRemove() {
+        registry.register(employee("1", "Shubham Patil"));
+        assertEquals(Optional.of("Shubham Patil"), registry.nameOf("1"));
+
+        registry.remove("1");
+        assertTrue(registry.nameOf("1").isEmpty());
+    }
+
+    @Test
+    void testUpdateAppliesCreatesAndDeletes() {
+        registry.replaceAll(List.of(employee("1", "Shubham Patil"), employee("2", "Jane Doe")));
+
+        registry.update(List.of(employee("3", "John Doe"), employee("2", "Jane Roe")), List.of("1"));
+
+        assertTrue(registry.nameOf("1").isEmpty());
+        assertEquals(Optional.of("Jane Roe"), registry.nameOf("2"));
+        assertEquals(Optional.of("John Doe"), registry.nameOf("3"));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void testReplaceAllWithSnapshot() {
+        registry.register(employee("9", "Gone Later"));
+        EmployeeSnapshot snapshot = EmployeeSnapshot.next(null, List.of(employee("1", "Shubham Patil")), Instant.now());
+
+        registry.replaceAll(snapshot);
+        registry.register(employee("2", "Jane Doe"));
+
+        assertTrue(registry.nameOf("9").isEmpty());
+        assertEquals(Optional.of("Shubham Patil"), registry.nameOf("1"));
+        assertEquals(Optional.of("Jane Doe"), registry.nameOf("2"));
+        assertTrue(snapshot.findById("2").isEmpty());
+    }
+
+    private static Employee employee(String id, String name) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        return employee;
+    }
+}
@@ -0,0 +1,198 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotCacheTest {
+
+    private MutableClock clock;
+    private EmployeeSnapshotCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        cache = new EmployeeSnapshotCache(Duration.ofSeconds(30), Duration.ofSeconds(60), clock);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testFreshSnapshotIsReused() {
+        EmployeeSnapshot first = cache.get(this::load);
+        clock.advance(Duration.ofSeconds(10));
+        EmployeeSnapshot second = cache.get(this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, first.version());
+    }
+
+    @Test
+    void testExpiredSnapshotIsReloadedSynchronously() {
+        cache.get(this::load);
+        clock.advance(Duration.ofSeconds(120));
+        EmployeeSnapshot reloaded = cache.get(this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(2, reloaded.version());
+    }
+
+    @Test
+    void testStaleSnapshotIsServedWhenRefreshFails() {
+        EmployeeSnapshot first = cache.get(this::load);
+        clock.advance(Duration.ofSeconds(120));
+        EmployeeSnapshot served = cache.get(previous -> {
+            throw new IllegalStateException("upstream down");
+        });
+
+        assertSame(first, served);
+    }
+
+    @Test
+    void testPeekHonoursServeableWindow() {
+        cache.get(this::load);
+        assertTrue(cache.peek().isPresent());
+        clock.advance(Duration.ofSeconds(90));
+        assertTrue(cache.peek().isEmpty());
+    }
+
+    @Test
+    void testUpdateBumpsVersion() {
+        cache.get(this::load);
+        Employee employee = new Employee();
+        employee.setId("2");
+        employee.setName("Jane Doe");
+        cache.update(snapshot -> snapshot.withAdded(employee));
+
+        EmployeeSnapshot snapshot = cache.get(this::load);
+        assertEquals(2, snapshot.version());
+        assertEquals(2, snapshot.size());
+        assertEquals("Jane Doe", snapshot.findById("2").orElseThrow().getName());
+        assertEquals(1, snapshot.withRemoved("2").size());
+    }
+
+    @Test
+    void testBackgroundRefreshRunsOnVirtualThreadWhenEnabled() throws Exception {
+        EmployeeSnapshotCache virtualCache =
+                new EmployeeSnapshotCache(Duration.ofSeconds(30), Duration.ofSeconds(60), clock, true);
+        CompletableFuture<Thread> refreshThread = new CompletableFuture<>();
+        virtualCache.get(this::load);
+        clock.advance(Duration.ofSeconds(45));
+
+        virtualCache.get(previous -> {
+            refreshThread.complete(Thread.currentThread());
+            return load(previous);
+        });
+
+        assertTrue(refreshThread.get(5, TimeUnit.SECONDS).isVirtual());
+        virtualCache.shutdown();
+    }
+
+    @Test
+    void testAsyncRefreshIsSharedByConcurrentCallers() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<EmployeeSnapshot> upstream = new CompletableFuture<>();
+        CompletableFuture<EmployeeSnapshot> first = cache.getAsync(previous -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<EmployeeSnapshot> second = cache.getAsync(previous -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        assertFalse(first.isDone());
+
+        upstream.complete(load(null));
+
+        assertSame(first.get(), second.get());
+        assertEquals(1, calls.get());
+        assertSame(first.get(), cache.getAsync(previous -> CompletableFuture.completedFuture(load(previous))).get());
+    }
+
+    @Test
+    void testAsyncServesStaleSnapshotWhenRefreshFails() throws Exception {
+        EmployeeSnapshot first = cache.get(this::load);
+        clock.advance(Duration.ofSeconds(120));
+
+        EmployeeSnapshot served = cache.getAsync(
+                        previous -> CompletableFuture.failedFuture(new IllegalStateException("upstream down")))
+                .get();
+
+        assertSame(first, served);
+    }
+
+    @Test
+    void testAsyncRevalidatesInBackground() throws Exception {
+        EmployeeSnapshot first = cache.get(this::load);
+        clock.advance(Duration.ofSeconds(45));
+
+        EmployeeSnapshot served = cache.getAsync(previous -> CompletableFuture.completedFuture(load(previous))).get();
+
+        assertSame(first, served);
+        assertEquals(2, cache.peek().orElseThrow().version());
+    }
+
+    @Test
+    void testRefreshIfOlderThanSkipsRecentSnapshot() {
+        EmployeeSnapshot first = cache.get(this::load);
+        clock.advance(Duration.ofSeconds(2));
+        assertSame(first, cache.refreshIfOlderThan(Duration.ofSeconds(5), this::load));
+
+        clock.advance(Duration.ofSeconds(5));
+        EmployeeSnapshot refreshed = cache.refreshIfOlderThan(Duration.ofSeconds(5), this::load);
+
+        assertEquals(2, refreshed.version());
+        assertEquals(2, loads.get());
+    }
+
+    private EmployeeSnapshot load(EmployeeSnapshot previous) {
+        loads.incrementAndGet();
+        Employee employee = new Employee();
+        employee.setId("1");
+        employee.setName("Shubham Patil");
+        return EmployeeSnapshot.next(previous, List.of(employee), clock.instant());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotTest {
+
+    private static final Instant FETCHED_AT = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant SYNCED_AT = FETCHED_AT.plusSeconds(60);
+
+    private final EmployeeSnapshot snapshot = EmployeeSnapshot.next(
+            null, List.of(employee("1", 1000), employee("2", 2000)), FETCHED_AT, 10);
+
+    @Test
+    void testWithChangesAppliesCreatesAndDeletes() {
+        EmployeeSnapshot synced =
+                snapshot.withChanges(List.of(employee("3", 3000)), List.of("1"), SYNCED_AT, 12);
+
+        assertEquals(List.of("2", "3"), ids(synced.employees()));
+        assertEquals(snapshot.version() + 1, synced.version());
+        assertEquals(12, synced.upstreamSequence());
+        assertEquals(SYNCED_AT, synced.fetchedAt());
+        assertEquals(3000, synced.highestSalary());
+        assertTrue(synced.findById("1").isEmpty());
+    }
+
+    @Test
+    void testWithChangesSkipsChangesAlreadyApplied() {
+        EmployeeSnapshot local = snapshot.withAdded(employee("3", 3000)).withRemoved("1");
+
+        EmployeeSnapshot synced = local.withChanges(List.of(employee("3", 3000)), List.of("1"), SYNCED_AT, 12);
+
+        assertEquals(List.of("2", "3"), ids(synced.employees()));
+        assertEquals(local.version(), synced.version());
+        assertSame(local.employees(), synced.employees());
+        assertEquals(12, synced.upstreamSequence());
+    }
+
+    @Test
+    void testWithChangesCreateAndDeleteInOneBatch() {
+        EmployeeSnapshot synced = snapshot.withChanges(List.of(employee("3", 3000)), List.of("3"), SYNCED_AT, 12);
+
+        assertEquals(List.of("1", "2"), ids(synced.employees()));
+        assertEquals(2000, synced.highestSalary());
+    }
+
+    @Test
+    void testLocalChangesKeepUpstreamSequence() {
+        assertEquals(10, snapshot.withAdded(employee("3", 3000)).upstreamSequence());
+        assertEquals(EmployeeSnapshot.UNKNOWN_SEQUENCE, EmployeeSnapshot.next(null, List.of(), FETCHED_AT)
+                .upstreamSequence());
+    }
+
+    @Test
+    void testSalaryIndexFollowsRowsAcrossChanges() {
+        snapshot.highestSalary();
+
+        EmployeeSnapshot synced = snapshot.withChanges(
+                        List.of(employee("3", 1500), employee("4", 500)), List.of("1"), SYNCED_AT, 12)
+                .withRemoved("3")
+                .withAdded(employee("5", 2500));
+
+        assertEquals(List.of("5", "2", "4"), ids(synced.topEarners(10)));
+        assertEquals("Employee 4", synced.findById("4").orElseThrow().getName());
+    }
+
+    @Test
+    void testIndexesFollowEmployeesThroughCompaction() {
+        EmployeeSnapshot current = snapshot;
+        current.highestSalary();
+        for (int i = 3; i < 300; i++) {
+            current = current.withAdded(employee(String.valueOf(i), i * 10));
+            if (i % 3 == 0) {
+                current = current.withRemoved(String.valueOf(i - 2));
+            }
+            if (i % 60 == 0) {
+                assertTrue(current.searchByName("employee " + (i - 2)).isEmpty());
+            }
+        }
+
+        List<Employee> employees = current.employees();
+        List<String> expectedTop = employees.stream()
+                .sorted((a, b) -> Integer.compare(b.getSalary(), a.getSalary()))
+                .limit(10)
+                .map(Employee::getId)
+                .collect(Collectors.toList());
+        assertEquals(expectedTop, ids(current.topEarners(10)));
+        assertEquals(2990, current.highestSalary());
+        List<String> expectedMatches = employees.stream()
+                .filter(employee -> employee.getName().contains("Employee 29"))
+                .map(Employee::getId)
+                .collect(Collectors.toList());
+        assertEquals(expectedMatches, ids(current.searchByName("employee 29")));
+    }
+
+    @Test
+    void testNameSearchFollowsChangesAfterFirstSearch() {
+        assertEquals(List.of("1", "2"), ids(snapshot.searchByName("employee")));
+
+        EmployeeSnapshot changed = snapshot.withAdded(employee("3", 3000))
+                .withRemoved("1")
+                .withChanges(List.of(employee("13", 1300)), List.of("2"), SYNCED_AT, 12);
+
+        assertEquals(List.of("3", "13"), ids(changed.searchByName("employee")));
+        assertEquals(List.of("13"), ids(changed.searchByName("ee 13")));
+        assertEquals(List.of("1", "2"), ids(snapshot.searchByName("employee")));
+    }
+
+    @Test
+    void testEncodedResponseIsKeptUntilEmployeesChange() {
+        byte[] encoded = snapshot.encodedResponse("employees", () -> new byte[] {1});
+
+        assertSame(encoded, snapshot.encodedResponse("employees", () -> new byte[] {2}));
+        assertSame(encoded, snapshot.withChanges(List.of(), List.of(), SYNCED_AT, 12)
+                .encodedResponse("employees", () -> new byte[] {2}));
+        assertEquals(3, snapshot.withAdded(employee("3", 3000))
+                .encodedResponse("employees", () -> new byte[] {3})[0]);
+    }
+
+    private static Employee employee(String id, int salary) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("Employee " + id);
+        employee.setSalary(salary);
+        return employee;
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
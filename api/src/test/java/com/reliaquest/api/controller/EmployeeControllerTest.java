@@ -4,14 +4,21 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.reliaquest.api.dto.CreateEmployeeBatchResult;
 import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.EmployeeLookupResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeBatchService;
+import com.reliaquest.api.service.EmployeeBatchValidator;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -25,6 +32,12 @@ class EmployeeControllerTest {
     @Mock
     private EmployeeService employeeService;
 
+    @Mock
+    private EmployeeBatchService batchService;
+
+    @Mock
+    private EmployeeBatchValidator batchValidator;
+
     @InjectMocks
     private EmployeeController employeeController;
 
@@ -151,6 +164,38 @@ class EmployeeControllerTest {
         assertEquals(0, response.getBody().size());
     }
 
+    @Test
+    void testGetTopHighestEarningEmployeeNames() {
+        List<String> names = Arrays.asList("Shubham Patil", "Jane Doe", "John Doe");
+        when(employeeService.getTopHighestEarningEmployeeNames(3)).thenReturn(names);
+
+        ResponseEntity<List<String>> response = employeeController.getTopHighestEarningEmployeeNames(3);
+        assertNotNull(response.getBody());
+        assertEquals(3, response.getBody().size());
+    }
+
+    @Test
+    void testGetTopHighestEarningEmployeeNamesInvalidLimit() {
+        ResponseEntity<List<String>> response = employeeController.getTopHighestEarningEmployeeNames(0);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testGetTopHighestEarningEmployeeNamesLimitIsCapped() {
+        int max = EmployeeService.MAX_TOP_EARNERS;
+        when(employeeService.getTopHighestEarningEmployeeNames(max)).thenReturn(Collections.emptyList());
+
+        assertEquals(HttpStatus.OK, employeeController.getTopHighestEarningEmployeeNames(max).getStatusCode());
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                employeeController.getTopHighestEarningEmployeeNames(max + 1).getStatusCode());
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                employeeController.getTopHighestEarningEmployeeNames(Integer.MAX_VALUE).getStatusCode());
+        verify(employeeService, never()).getTopHighestEarningEmployeeNames(Integer.MAX_VALUE);
+    }
+
     @Test
     void testCreateEmployee() {
         CreateEmployeeRequest input = new CreateEmployeeRequest();
@@ -216,4 +261,60 @@ class EmployeeControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals("Failed to delete employee", response.getBody());
     }
+
+    @Test
+    void testCreateEmployees() {
+        List<CreateEmployeeRequest> inputs = List.of(new CreateEmployeeRequest());
+        Employee employee = new Employee();
+        employee.setId("1");
+        List<CreateEmployeeBatchResult> results = List.of(CreateEmployeeBatchResult.created(0, employee));
+        when(batchValidator.validate(inputs)).thenReturn(Collections.emptyList());
+        when(batchService.createEmployees(inputs)).thenReturn(CompletableFuture.completedFuture(results));
+
+        ResponseEntity<List<CreateEmployeeBatchResult>> response = employeeController.createEmployees(inputs).join();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    void testCreateEmployeesRejectsInvalidBatch() {
+        List<CreateEmployeeRequest> inputs = List.of(new CreateEmployeeRequest());
+        List<CreateEmployeeBatchResult> invalid =
+                List.of(CreateEmployeeBatchResult.invalid(0, "name must not be blank"));
+        when(batchValidator.validate(inputs)).thenReturn(invalid);
+
+        ResponseEntity<List<CreateEmployeeBatchResult>> response = employeeController.createEmployees(inputs).join();
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(invalid, response.getBody());
+        verify(batchService, never()).createEmployees(any());
+    }
+
+    @Test
+    void testGetEmployeesByIds() {
+        Employee employee = new Employee();
+        employee.setId("1");
+        List<EmployeeLookupResult> results =
+                List.of(EmployeeLookupResult.found("1", employee), EmployeeLookupResult.notFound("2"));
+        when(employeeService.getEmployeesByIds(List.of("1", "2"))).thenReturn(results);
+
+        ResponseEntity<List<EmployeeLookupResult>> response = employeeController.getEmployeesByIds(List.of("1", "2"));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    void testGetEmployeesByIdsRejectsInvalidIds() {
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                employeeController.getEmployeesByIds(List.of()).getStatusCode());
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                employeeController.getEmployeesByIds(List.of("1", " ")).getStatusCode());
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                employeeController
+                        .lookUpEmployees(Collections.nCopies(EmployeeService.MAX_LOOKUP_IDS + 1, "1"))
+                        .getStatusCode());
+        verify(employeeService, never()).getEmployeesByIds(any());
+    }
 }
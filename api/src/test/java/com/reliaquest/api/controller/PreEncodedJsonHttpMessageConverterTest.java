@@ -0,0 +1,35 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.dto.PreEncodedList;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class PreEncodedJsonHttpMessageConverterTest {
+
+    private final PreEncodedJsonHttpMessageConverter converter = new PreEncodedJsonHttpMessageConverter();
+
+    @Test
+    void testWritesEncodedBytes() throws Exception {
+        byte[] json = "[\"Jane Doe\"]".getBytes(StandardCharsets.UTF_8);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(new PreEncodedList<>(List.of("Jane Doe"), () -> json), MediaType.APPLICATION_JSON, output);
+
+        assertArrayEquals(json, output.getBodyAsBytes());
+    }
+
+    @Test
+    void testOnlyWritesPreEncodedLists() {
+        assertTrue(converter.canWrite(PreEncodedList.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(ArrayList.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(PreEncodedList.class, MediaType.APPLICATION_JSON));
+    }
+}
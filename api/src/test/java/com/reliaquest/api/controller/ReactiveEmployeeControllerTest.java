@@ -0,0 +1,91 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+class ReactiveEmployeeControllerTest {
+
+    @Mock
+    private ReactiveEmployeeService employeeService;
+
+    @InjectMocks
+    private ReactiveEmployeeController employeeController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetAllEmployees() {
+        Employee employee = new Employee();
+        employee.setId("1");
+        employee.setName("Shubham Patil");
+        when(employeeService.getAllEmployees()).thenReturn(Mono.just(List.of(employee)));
+
+        ResponseEntity<List<Employee>> response = employeeController.getAllEmployees().block();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Shubham Patil", response.getBody().get(0).getName());
+    }
+
+    @Test
+    void testGetEmployeesByNameSearchNotFound() {
+        when(employeeService.getEmployeesByNameSearch("zzz")).thenReturn(Mono.empty());
+
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByNameSearch("zzz").block();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testGetEmployeeByIdNotFound() {
+        when(employeeService.getEmployeeById("1")).thenReturn(Mono.empty());
+
+        ResponseEntity<Employee> response = employeeController.getEmployeeById("1").block();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testGetTopHighestEarningEmployeeNamesRejectsInvalidLimit() {
+        ResponseEntity<List<String>> response = employeeController.getTopHighestEarningEmployeeNames(0).block();
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+
+        response = employeeController
+                .getTopHighestEarningEmployeeNames(EmployeeService.MAX_TOP_EARNERS + 1)
+                .block();
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testCreateEmployeeFailure() {
+        when(employeeService.createEmployee(any(CreateEmployeeRequest.class))).thenReturn(Mono.empty());
+
+        ResponseEntity<Employee> response = employeeController.createEmployee(new CreateEmployeeRequest()).block();
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    @Test
+    void testDeleteEmployeeByIdNotFound() {
+        when(employeeService.deleteEmployeeById("1")).thenReturn(Mono.just("Employee not found"));
+
+        ResponseEntity<String> response = employeeController.deleteEmployeeById("1").block();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Employee not found", response.getBody());
+    }
+}
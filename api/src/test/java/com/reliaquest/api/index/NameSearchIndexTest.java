@@ -0,0 +1,105 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class NameSearchIndexTest {
+
+    private static final List<String> NAMES =
+            List.of("Shubham Patil", "Jane Doe", "John Doe", "Patricia Dolan", "Anna Annaberg", "");
+
+    private final NameSearchIndex index = NameSearchIndex.build(NAMES.size(), NAMES::get);
+
+    @Test
+    void testFindsSubstringIgnoringCase() {
+        assertArrayEquals(new int[] {1, 2}, index.search("DOE", NAMES::get));
+        assertArrayEquals(new int[] {0, 3}, index.search("pat", NAMES::get));
+        assertArrayEquals(new int[] {0}, index.search("shubham patil", NAMES::get));
+    }
+
+    @Test
+    void testRequiresContiguousMatch() {
+        // Both "ann" and "nab" occur in "Anna Annaberg", but only "annab" as a whole is a substring.
+        assertArrayEquals(new int[] {4}, index.search("annab", NAMES::get));
+        assertArrayEquals(new int[0], index.search("doe jane", NAMES::get));
+    }
+
+    @Test
+    void testShortFragmentsScan() {
+        assertArrayEquals(new int[] {1, 2, 3}, index.search("do", NAMES::get));
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5}, index.search("", NAMES::get));
+    }
+
+    @Test
+    void testSkipsRowsWithoutName() {
+        // Row 2 ("John Doe") has since been deleted.
+        IntFunction<String> current = row -> row == 2 ? null : NAMES.get(row);
+
+        assertArrayEquals(new int[] {1}, index.search("doe", current));
+        assertArrayEquals(new int[] {1, 3}, index.search("do", current));
+    }
+
+    @Test
+    void testWithRowsMatchesRebuild() {
+        Random random = new Random(11);
+        List<String> names = new ArrayList<>(randomNames(random, 500));
+        NameSearchIndex grown = NameSearchIndex.build(names.size(), names::get);
+        // Enough appends, a few rows at a time, to merge the recent rows into the main lists more than once.
+        for (int batch = 0; batch < 100; batch++) {
+            names.addAll(randomNames(random, 1 + random.nextInt(5)));
+            grown = grown.withRows(names.size(), names::get);
+        }
+        NameSearchIndex rebuilt = NameSearchIndex.build(names.size(), names::get);
+
+        assertEquals(names.size(), grown.rowCount());
+        for (String query : List.of("abc", "e a", "dd", "bcde", "a", "cab")) {
+            assertArrayEquals(rebuilt.search(query, names::get), grown.search(query, names::get));
+        }
+    }
+
+    @Test
+    void testUnknownTrigram() {
+        assertArrayEquals(new int[0], index.search("xyz", NAMES::get));
+    }
+
+    @Test
+    void testMatchesLinearScan() {
+        Random random = new Random(42);
+        List<String> names = randomNames(random, 2_000);
+        NameSearchIndex randomIndex = NameSearchIndex.build(names.size(), names::get);
+
+        for (int q = 0; q < 200; q++) {
+            String name = names.get(random.nextInt(names.size()));
+            int start = random.nextInt(name.length());
+            int end = Math.min(name.length(), start + 1 + random.nextInt(6));
+            String query = name.substring(start, end).toUpperCase(Locale.ROOT);
+            int[] expected = IntStream.range(0, names.size())
+                    .filter(row -> names.get(row).contains(query.toLowerCase(Locale.ROOT)))
+                    .toArray();
+            assertArrayEquals(expected, randomIndex.search(query, names::get));
+        }
+        assertEquals(names.size(), randomIndex.rowCount());
+    }
+
+    private static List<String> randomNames(Random random, int count) {
+        String alphabet = "abcde ";
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = 3 + random.nextInt(10);
+            for (int c = 0; c < length; c++) {
+                name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            names.add(name.toString());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    @Test
+    void testOrdersBySalaryDescendingKeepingTies() {
+        SalaryIndex index = build(List.of(1000, 3000, 2000, 3000));
+
+        assertEquals(3000, index.highestSalary());
+        assertArrayEquals(new int[] {1, 3, 2, 0}, index.topRows(10));
+        assertArrayEquals(new int[] {1, 3}, index.topRows(2));
+        assertArrayEquals(new int[0], index.topRows(0));
+    }
+
+    @Test
+    void testEmpty() {
+        SalaryIndex index = build(List.of());
+
+        assertEquals(0, index.highestSalary());
+        assertArrayEquals(new int[0], index.topRows(10));
+    }
+
+    @Test
+    void testAddAndRemove() {
+        SalaryIndex index = build(List.of(1000, 2000));
+
+        SalaryIndex added = index.withAdded(2, 2000).withAdded(3, 5000);
+        assertArrayEquals(new int[] {3, 1, 2, 0}, added.topRows(10));
+        assertArrayEquals(new int[] {1, 0}, index.topRows(10));
+
+        SalaryIndex removed = added.withRemoved(1, 2000).withRemoved(3, 5000);
+        assertArrayEquals(new int[] {2, 0}, removed.topRows(10));
+        assertEquals(2000, removed.highestSalary());
+        assertSame(removed, removed.withRemoved(9, 2000));
+        assertSame(removed, removed.withRemoved(1, 2000));
+    }
+
+    @Test
+    void testIncrementalMatchesRebuild() {
+        Random random = new Random(7);
+        Map<Integer, Integer> salaries = new LinkedHashMap<>();
+        SalaryIndex index = build(List.of());
+        int nextRow = 0;
+        for (int i = 0; i < 2_000; i++) {
+            if (!salaries.isEmpty() && random.nextInt(3) == 0) {
+                List<Integer> rows = new ArrayList<>(salaries.keySet());
+                int row = rows.get(random.nextInt(rows.size()));
+                index = index.withRemoved(row, salaries.remove(row));
+            } else {
+                int salary = random.nextInt(50) - 10;
+                index = index.withAdded(nextRow, salary);
+                salaries.put(nextRow++, salary);
+            }
+        }
+
+        SalaryIndex rebuilt = SalaryIndex.build(nextRow, salaries::containsKey, salaries::get);
+        assertEquals(salaries.size(), index.size());
+        assertArrayEquals(rebuilt.topRows(salaries.size()), index.topRows(salaries.size()));
+        assertEquals(rebuilt.highestSalary(), index.highestSalary());
+    }
+
+    private static SalaryIndex build(List<Integer> salaries) {
+        return SalaryIndex.build(salaries.size(), salaries::get);
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.api.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.enums.EmployeeEndpoint;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+class EmployeeApiMetricsTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private SimpleMeterRegistry registry;
+    private EmployeeSnapshotCache snapshotCache;
+    private EmployeeApiMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        snapshotCache = new EmployeeSnapshotCache(
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        metrics = new EmployeeApiMetrics(registry, snapshotCache);
+    }
+
+    @Test
+    void testRecordsUpstreamCallsByEndpointAndStatus() {
+        metrics.recordUpstreamCall(EmployeeEndpoint.GET_EMPLOYEE_BY_ID, "200", Duration.ofMillis(5));
+        metrics.recordUpstreamCall(EmployeeEndpoint.GET_EMPLOYEE_BY_ID, "429", Duration.ofMillis(1));
+        metrics.recordUpstreamCall(EmployeeEndpoint.GET_ALL_EMPLOYEES, "503", Duration.ofMillis(2));
+
+        assertEquals(
+                1,
+                registry.get(EmployeeApiMetrics.UPSTREAM_REQUESTS)
+                        .tag("endpoint", "GET_EMPLOYEE_BY_ID")
+                        .tag("status", "200")
+                        .timer()
+                        .count());
+        assertEquals(
+                1.0,
+                registry.get(EmployeeApiMetrics.UPSTREAM_RATE_LIMITED)
+                        .tag("endpoint", "GET_EMPLOYEE_BY_ID")
+                        .counter()
+                        .count());
+        assertEquals(
+                1.0,
+                registry.get(EmployeeApiMetrics.UPSTREAM_SERVER_ERRORS)
+                        .tag("endpoint", "GET_ALL_EMPLOYEES")
+                        .tag("status", "503")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void testTimesDecodeEvenWhenItFails() throws IOException {
+        assertEquals("decoded", metrics.timeDecode(EmployeeEndpoint.GET_ALL_EMPLOYEES, () -> "decoded"));
+        assertThrows(IOException.class, () -> metrics.timeDecode(EmployeeEndpoint.GET_ALL_EMPLOYEES, () -> {
+            throw new IOException("truncated");
+        }));
+
+        assertEquals(
+                2,
+                registry.get(EmployeeApiMetrics.UPSTREAM_DECODE)
+                        .tag("endpoint", "GET_ALL_EMPLOYEES")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void testCacheGauges() {
+        assertEquals(0.0, registry.get(EmployeeApiMetrics.CACHE_EMPLOYEES).gauge().value());
+        assertTrue(Double.isNaN(registry.get(EmployeeApiMetrics.CACHE_AGE).gauge().value()));
+
+        Employee employee = new Employee();
+        employee.setId("1");
+        employee.setName("John Doe");
+        snapshotCache.get(previous -> EmployeeSnapshot.next(previous, List.of(employee), NOW.minusSeconds(12)));
+
+        assertEquals(1.0, registry.get(EmployeeApiMetrics.CACHE_EMPLOYEES).gauge().value());
+        assertEquals(12.0, registry.get(EmployeeApiMetrics.CACHE_AGE).gauge().value());
+    }
+
+    @Test
+    void testResolvesEndpointsFromRequests() {
+        assertEquals(
+                EmployeeEndpoint.GET_ALL_EMPLOYEES, EmployeeEndpoint.resolve(HttpMethod.GET, "/api/v1/employee"));
+        assertEquals(
+                EmployeeEndpoint.GET_EMPLOYEE_BY_ID,
+                EmployeeEndpoint.resolve(HttpMethod.GET, "/api/v1/employee/4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"));
+        assertEquals(
+                EmployeeEndpoint.GET_EMPLOYEE_CHANGES,
+                EmployeeEndpoint.resolve(HttpMethod.GET, "/api/v1/employee/changes"));
+        assertEquals(
+                EmployeeEndpoint.DELETE_EMPLOYEE_BY_ID,
+                EmployeeEndpoint.resolve(HttpMethod.DELETE, "/api/v1/employee"));
+        assertNull(EmployeeEndpoint.resolve(HttpMethod.PUT, "/api/v1/employee"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.reliaquest.api.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class EmployeeTableTest {
+
+    private static final String UUID_ID = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+
+    @Test
+    void testRowsRoundTrip() {
+        EmployeeTable table = EmployeeTable.of(List.of(
+                employee(UUID_ID, "Tiger Nixon", 320800, "Vice Chair", "tnixon@company.com"),
+                employee("2", "Zoë Ångström", 1000, "Vice Chair", "zoe@company.com"),
+                employee("4A3A170B-22CD-4AC2-AAD1-9BB5B34A1507", null, 0, null, "no-domain"),
+                employee(null, "No Id", 5, "Engineer", null)));
+
+        assertEquals(4, table.size());
+        Employee tiger = table.get(0);
+        assertEquals(UUID_ID, tiger.getId());
+        assertEquals("Tiger Nixon", tiger.getName());
+        assertEquals(320800, tiger.getSalary());
+        assertEquals(30, tiger.getAge());
+        assertEquals("Vice Chair", tiger.getTitle());
+        assertEquals("tnixon@company.com", tiger.getEmail());
+        assertEquals("Zoë Ångström", table.name(1));
+        assertEquals("zoe@company.com", table.email(1));
+        assertEquals("4A3A170B-22CD-4AC2-AAD1-9BB5B34A1507", table.id(2));
+        assertNull(table.name(2));
+        assertNull(table.title(2));
+        assertEquals("no-domain", table.email(2));
+        assertNull(table.id(3));
+        assertNull(table.email(3));
+    }
+
+    @Test
+    void testRowOf() {
+        EmployeeTable table = EmployeeTable.of(List.of(
+                employee(UUID_ID, "Tiger Nixon", 1, null, null),
+                employee("2", "Jane Doe", 2, null, null),
+                employee("4A3A170B-22CD-4AC2-AAD1-9BB5B34A1507", "Upper Case", 3, null, null)));
+
+        assertEquals(0, table.rowOf(UUID_ID));
+        assertEquals(1, table.rowOf("2"));
+        assertEquals(2, table.rowOf("4A3A170B-22CD-4AC2-AAD1-9BB5B34A1507"));
+        assertEquals(-1, table.rowOf("3"));
+        assertEquals(-1, table.rowOf(null));
+    }
+
+    @Test
+    void testRowOfIgnoresUuidCase() {
+        EmployeeTable table = EmployeeTable.of(List.of(
+                employee("2", "Jane Doe", 2, null, null), employee(UUID_ID, "Tiger Nixon", 1, null, null)));
+        EmployeeTable updated = table.withChanges(
+                new BitSet(),
+                List.of(employee("9e1c5f6a-0b7d-4c3e-8f2a-5d6b7c8e9f01", "Appended", 3, null, null)));
+
+        assertEquals(1, table.rowOf("4A3A170B-22CD-4AC2-AAD1-9BB5B34A1507"));
+        assertEquals(1, table.rowOf("4a3A170b-22Cd-4aC2-aAd1-9bB5b34A1507"));
+        assertEquals(2, updated.rowOf("9E1C5F6A-0B7D-4C3E-8F2A-5D6B7C8E9F01"));
+        assertEquals(UUID_ID, table.id(table.rowOf(UUID_ID.toUpperCase())));
+        assertEquals(-1, table.rowOf("4A3A170B-22CD-4AC2-AAD1-9BB5B34A1508"));
+    }
+
+    @Test
+    void testWithChangesKeepsRowNumbers() {
+        EmployeeTable table = EmployeeTable.of(List.of(
+                employee("1", "One", 1, "Engineer", "one@company.com"),
+                employee("2", "Two", 2, "Manager", "two@company.com"),
+                employee("3", "Three", 3, "Engineer", "three@company.com")));
+        BitSet removed = new BitSet();
+        removed.set(0);
+
+        EmployeeTable updated =
+                table.withChanges(removed, List.of(employee("4", "Four", 4, "Director", "four@other.com")));
+
+        assertEquals(List.of("2", "3", "4"), ids(updated));
+        assertEquals(3, updated.size());
+        assertEquals(4, updated.rowCount());
+        assertTrue(updated.keepsRowsOf(table));
+        assertFalse(updated.isLive(0));
+        assertEquals(-1, updated.rowOf("1"));
+        assertEquals(2, updated.rowOf("3"));
+        assertEquals("Engineer", updated.title(2));
+        assertEquals("four@other.com", updated.email(3));
+        assertEquals(List.of("1", "2", "3"), ids(table));
+    }
+
+    @Test
+    void testDeletedIdCanBeAddedAgain() {
+        EmployeeTable table = EmployeeTable.of(List.of(employee("1", "One", 1, null, null)));
+        BitSet removed = new BitSet();
+        removed.set(0);
+
+        EmployeeTable updated = table.withChanges(removed, List.of(employee("1", "One Again", 1, null, null)));
+
+        assertEquals(1, updated.rowOf("1"));
+        assertEquals("One Again", updated.name(updated.rowOf("1")));
+        assertEquals(List.of("1"), ids(updated));
+    }
+
+    @Test
+    void testCompactsOncePendingRowsPileUp() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(employee(String.valueOf(i), "Employee " + i, i, "Engineer", i + "@company.com"));
+        }
+        EmployeeTable table = EmployeeTable.of(employees);
+        EmployeeTable updated = table;
+        int removals = 0;
+        while (updated.keepsRowsOf(table)) {
+            BitSet removed = new BitSet();
+            removed.set(updated.rowOf(String.valueOf(removals++)));
+            updated = updated.withChanges(removed, List.of(employee("new" + removals, "New", 1, "Manager", null)));
+        }
+
+        // Compacted: the deleted rows are gone and the rest moved up, in the same order.
+        assertEquals(updated.size(), updated.rowCount());
+        assertEquals(100, updated.size());
+        assertEquals(String.valueOf(removals), updated.id(0));
+        assertEquals(0, updated.rowOf(String.valueOf(removals)));
+        assertEquals("Manager", updated.title(updated.rowOf("new1")));
+        assertEquals(-1, updated.rowOf("0"));
+        assertEquals(100, table.size());
+    }
+
+    @Test
+    void testViewsCreateCopies() {
+        EmployeeTable table = EmployeeTable.of(List.of(employee("1", "One", 1, null, null)));
+
+        Employee first = table.asList().get(0);
+        first.setName("Changed");
+
+        assertNotSame(first, table.asList().get(0));
+        assertEquals("One", table.asList().get(0).getName());
+    }
+
+    private static Employee employee(String id, String name, int salary, String title, String email) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setSalary(salary);
+        employee.setAge(30);
+        employee.setTitle(title);
+        employee.setEmail(email);
+        return employee;
+    }
+
+    private static List<String> ids(EmployeeTable table) {
+        return table.asList().stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,182 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmployeeStreamDecoderTest {
+
+    private final EmployeeStreamDecoder decoder = new EmployeeStreamDecoder(new ObjectMapper());
+
+    @Test
+    void testDecodesEmployeesFromEnvelope() throws Exception {
+        String json = "{\"status\":\"Successfully processed request.\",\"data\":["
+                + "{\"id\":\"1\",\"employee_name\":\"Shubham Patil\",\"employee_salary\":1000,\"employee_age\":30,"
+                + "\"employee_title\":\"Engineer\",\"employee_email\":\"shubham.patil@gmail.com\",\"extra\":{\"a\":1}},"
+                + "{\"id\":\"2\",\"employee_name\":\"Jane Doe\",\"employee_salary\":2000,\"employee_age\":25,"
+                + "\"employee_title\":\"Manager\",\"employee_email\":\"jane.doe@example.com\"}]}";
+
+        List<Employee> employees = decoder.decodeList(stream(json));
+
+        assertEquals(2, employees.size());
+        Employee first = employees.get(0);
+        assertEquals("1", first.getId());
+        assertEquals("Shubham Patil", first.getName());
+        assertEquals(1000, first.getSalary());
+        assertEquals(30, first.getAge());
+        assertEquals("Engineer", first.getTitle());
+        assertEquals("shubham.patil@gmail.com", first.getEmail());
+        assertEquals("Jane Doe", employees.get(1).getName());
+    }
+
+    @Test
+    void testStreamsToConsumer() throws Exception {
+        String json = "{\"data\":[{\"id\":\"1\",\"employee_name\":\"A\"},{\"id\":\"2\",\"employee_name\":\"B\"}]}";
+        List<String> names = new ArrayList<>();
+
+        int count = decoder.decodeList(stream(json), employee -> names.add(employee.getName()));
+
+        assertEquals(2, count);
+        assertEquals(List.of("A", "B"), names);
+    }
+
+    @Test
+    void testDecodesPageCursor() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+
+        EmployeeStreamDecoder.Page page = decoder.decodePage(
+                stream("{\"data\":[{\"id\":\"1\",\"employee_name\":\"A\"}],\"nextCursor\":\"42\"}"), employees::add);
+        EmployeeStreamDecoder.Page last = decoder.decodePage(stream("{\"data\":[]}"), employees::add);
+
+        assertEquals(1, page.count());
+        assertEquals("42", page.nextCursor());
+        assertNull(last.nextCursor());
+        assertEquals(1, employees.size());
+    }
+
+    @Test
+    void testDecodesNdjson() throws Exception {
+        String ndjson = "{\"id\":\"1\",\"employee_name\":\"A\",\"employee_salary\":1000}\n"
+                + "{\"id\":\"2\",\"employee_name\":\"B\",\"extra\":[1,2]}\n";
+        List<Employee> employees = new ArrayList<>();
+
+        int count = decoder.decodeNdjson(stream(ndjson), employees::add);
+
+        assertEquals(2, count);
+        assertEquals(1000, employees.get(0).getSalary());
+        assertEquals("B", employees.get(1).getName());
+        assertEquals(0, decoder.decodeNdjson(stream(""), employees::add));
+    }
+
+    @Test
+    void testDecodesChangeFeed() throws Exception {
+        String json = "{\"data\":{\"latestSequence\":12,\"resyncRequired\":false,\"changes\":["
+                + "{\"sequence\":11,\"type\":\"CREATE\",\"id\":\"3\","
+                + "\"employee\":{\"id\":\"3\",\"employee_name\":\"John Doe\",\"employee_salary\":1500}},"
+                + "{\"sequence\":12,\"type\":\"DELETE\",\"id\":\"1\"}]},"
+                + "\"status\":\"Successfully processed request.\"}";
+
+        EmployeeStreamDecoder.Changes changes = decoder.decodeChanges(stream(json));
+
+        assertEquals(12, changes.latestSequence());
+        assertFalse(changes.resyncRequired());
+        assertEquals(1, changes.created().size());
+        assertEquals("John Doe", changes.created().get(0).getName());
+        assertEquals(List.of("1"), changes.deletedIds());
+    }
+
+    @Test
+    void testDecodesResyncSignal() throws Exception {
+        String json = "{\"data\":{\"latestSequence\":40,\"resyncRequired\":true,\"changes\":[]}}";
+
+        EmployeeStreamDecoder.Changes changes = decoder.decodeChanges(stream(json));
+
+        assertTrue(changes.resyncRequired());
+        assertEquals(40, changes.latestSequence());
+    }
+
+    @Test
+    void testEmptyAndMissingData() throws Exception {
+        assertEquals(0, decoder.decodeList(stream("{\"data\":[],\"status\":\"ok\"}")).size());
+        assertEquals(0, decoder.decodeList(stream("{\"data\":null}")).size());
+        assertEquals(0, decoder.decodeList(stream("{\"status\":\"ok\"}")).size());
+    }
+
+    @Test
+    void testRejectsNonEnvelope() {
+        assertThrows(IOException.class, () -> decoder.decodeList(stream("[]")));
+    }
+
+    @Test
+    void testChunkedDecodeMatchesBlockingDecode() throws Exception {
+        String json = "{\"status\":\"ok\",\"meta\":{\"data\":[{\"id\":\"0\"}]},\"data\":["
+                + "{\"id\":\"1\",\"employee_name\":\"A\",\"employee_salary\":1000,\"extra\":{\"tags\":[1,{\"x\":2}]}},"
+                + "{\"id\":\"2\",\"employee_name\":\"B\"}],\"nextCursor\":null}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<Employee> expected = decoder.decodeList(stream(json));
+
+        for (int chunkSize : new int[] {1, 7, bytes.length}) {
+            List<Employee> employees = new ArrayList<>();
+            EmployeeStreamDecoder.ChunkedListDecoder chunked = decoder.chunkedListDecoder(employees::add);
+            for (int from = 0; from < bytes.length; from += chunkSize) {
+                chunked.feed(Arrays.copyOfRange(bytes, from, Math.min(bytes.length, from + chunkSize)));
+            }
+
+            assertEquals(2, chunked.finish());
+            assertEquals(summaries(expected), summaries(employees));
+        }
+    }
+
+    @Test
+    void testChunkedDecodeHandsOverEachEmployeeOnceComplete() throws Exception {
+        List<String> names = new ArrayList<>();
+        EmployeeStreamDecoder.ChunkedListDecoder chunked = decoder.chunkedListDecoder(e -> names.add(e.getName()));
+
+        chunked.feed(bytes("{\"data\":[{\"id\":\"1\",\"employee_name\":\"A\"},{\"id\":\"2\","));
+        assertEquals(List.of("A"), names);
+        chunked.feed(bytes("\"employee_name\":\"B\"}]}"));
+        assertEquals(List.of("A", "B"), names);
+        assertEquals(2, chunked.finish());
+    }
+
+    @Test
+    void testChunkedDecodeRejectsTruncatedOrNonEnvelopeBodies() throws Exception {
+        EmployeeStreamDecoder.ChunkedListDecoder truncated = decoder.chunkedListDecoder(employee -> {});
+        truncated.feed(bytes("{\"data\":[{\"id\":\"1\"}"));
+        assertThrows(IOException.class, truncated::finish);
+
+        EmployeeStreamDecoder.ChunkedListDecoder array = decoder.chunkedListDecoder(employee -> {});
+        assertThrows(IOException.class, () -> array.feed(bytes("[]")));
+
+        EmployeeStreamDecoder.ChunkedListDecoder missingData = decoder.chunkedListDecoder(employee -> {});
+        missingData.feed(bytes("{\"data\":null,\"status\":\"ok\"}"));
+        assertEquals(0, missingData.finish());
+    }
+
+    private static List<String> summaries(List<Employee> employees) {
+        return employees.stream()
+                .map(e -> e.getId() + ":" + e.getName() + ":" + e.getSalary())
+                .toList();
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
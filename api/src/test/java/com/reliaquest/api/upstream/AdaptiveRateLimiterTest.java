@@ -0,0 +1,141 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateLimiterTest {
+
+    private long now;
+    private AdaptiveRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        limiter = new AdaptiveRateLimiter(5, Duration.ofSeconds(30), Duration.ofSeconds(120), Duration.ZERO, () -> now);
+    }
+
+    @Test
+    void testLearnsLimitFromRejection() {
+        admit(7);
+        assertEquals(7, limiter.getEstimate().limit());
+        assertFalse(limiter.getEstimate().limitConfirmed());
+
+        reject();
+
+        AdaptiveRateLimiter.Estimate estimate = limiter.getEstimate();
+        assertEquals(7, estimate.limit());
+        assertTrue(estimate.limitConfirmed());
+        assertTrue(estimate.blocked());
+        assertThrows(UpstreamRateLimitedException.class, limiter::acquire);
+    }
+
+    @Test
+    void testLearnsBackoffFromProbes() {
+        admit(5);
+        long lastAdmitted = now;
+        reject();
+
+        // First probe after the initial 30s guess is still rejected.
+        advance(Duration.ofSeconds(30));
+        assertEquals(0, limiter.tryAcquire());
+        limiter.onRejected();
+        assertTrue(limiter.getEstimate().backoff().compareTo(Duration.ofSeconds(30)) > 0);
+
+        // Next probe succeeds; that wait becomes the backoff estimate and a new window opens.
+        advance(limiter.getEstimate().retryAfter());
+        long waited = now - lastAdmitted;
+        assertEquals(0, limiter.tryAcquire());
+        limiter.onAdmitted();
+
+        AdaptiveRateLimiter.Estimate estimate = limiter.getEstimate();
+        assertFalse(estimate.blocked());
+        assertEquals(Duration.ofNanos(waited), estimate.backoff());
+        assertEquals(5, estimate.remaining());
+    }
+
+    @Test
+    void testStopsAtConfirmedLimit() {
+        admit(5);
+        reject();
+        advance(Duration.ofSeconds(30));
+        assertEquals(0, limiter.tryAcquire());
+        limiter.onAdmitted();
+
+        admit(5);
+        assertTrue(limiter.tryAcquire() > 0);
+        assertTrue(limiter.getEstimate().blocked());
+    }
+
+    @Test
+    void testOnlyOneProbeAtATime() {
+        admit(5);
+        reject();
+        advance(Duration.ofSeconds(30));
+
+        assertEquals(0, limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire() > 0);
+    }
+
+    @Test
+    void testPacesOnPublishedLimits() {
+        assertEquals(0, limiter.tryAcquire());
+        limiter.onPublishedLimits(3, 2, Duration.ofSeconds(40));
+        limiter.onAdmitted();
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        long wait = limiter.tryAcquire();
+        assertEquals(Duration.ofSeconds(40).toNanos(), wait);
+
+        AdaptiveRateLimiter.Estimate estimate = limiter.getEstimate();
+        assertEquals(3, estimate.limit());
+        assertTrue(estimate.limitConfirmed());
+        assertTrue(estimate.blocked());
+        assertEquals(Duration.ofSeconds(40), estimate.retryAfter());
+    }
+
+    @Test
+    void testRetryAfterHoldsCallsUntilReset() {
+        assertEquals(0, limiter.tryAcquire());
+        limiter.onPublishedLimits(5, 0, Duration.ofSeconds(12));
+        limiter.onRejected();
+
+        assertEquals(Duration.ofSeconds(12).toNanos(), limiter.tryAcquire());
+        assertThrows(UpstreamRateLimitedException.class, limiter::acquire);
+
+        // After the reset a single probe refreshes the published limits.
+        advance(Duration.ofSeconds(12));
+        assertEquals(0, limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire() > 0);
+        limiter.onPublishedLimits(5, 4, Duration.ofSeconds(30));
+        limiter.onAdmitted();
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(3, limiter.getEstimate().remaining());
+        assertFalse(limiter.getEstimate().blocked());
+    }
+
+    private void admit(int count) {
+        for (int i = 0; i < count; i++) {
+            assertEquals(0, limiter.tryAcquire());
+            advance(Duration.ofMillis(10));
+            limiter.onAdmitted();
+        }
+    }
+
+    private void reject() {
+        assertEquals(0, limiter.tryAcquire());
+        advance(Duration.ofMillis(10));
+        limiter.onRejected();
+    }
+
+    private void advance(Duration duration) {
+        now += duration.toNanos();
+    }
+}
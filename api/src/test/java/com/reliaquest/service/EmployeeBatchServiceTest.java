@@ -0,0 +1,158 @@
+package com.reliaquest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.dto.CreateEmployeeBatchResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeBatchService;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.upstream.UpstreamRateLimitedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+class EmployeeBatchServiceTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        batchService = new EmployeeBatchService(employeeService, 4, 100, Duration.ofMinutes(1), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+    }
+
+    @Test
+    void testCreateEmployeesReturnsResultPerItemInOrder() {
+        CreateEmployeeRequest created = request("Shubham Patil");
+        CreateEmployeeRequest failed = request("Jane Doe");
+        Employee employee = new Employee();
+        employee.setId("1");
+        employee.setName("Shubham Patil");
+        when(employeeService.createEmployee(eq(created), any(Duration.class))).thenReturn(employee);
+        when(employeeService.createEmployee(eq(failed), any(Duration.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        List<CreateEmployeeBatchResult> results = batchService.createEmployees(List.of(created, failed)).join();
+
+        assertEquals(2, results.size());
+        assertEquals(CreateEmployeeBatchResult.Status.CREATED, results.get(0).getStatus());
+        assertSame(employee, results.get(0).getEmployee());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(CreateEmployeeBatchResult.Status.FAILED, results.get(1).getStatus());
+    }
+
+    @Test
+    void testRateLimitedItemIsRetriedWithinBudget() {
+        CreateEmployeeRequest input = request("Shubham Patil");
+        Employee employee = new Employee();
+        employee.setId("1");
+        when(employeeService.createEmployee(eq(input), any(Duration.class)))
+                .thenThrow(new UpstreamRateLimitedException("Upstream rate limit reached", Duration.ofSeconds(1)))
+                .thenReturn(employee);
+
+        List<CreateEmployeeBatchResult> results = batchService.createEmployees(List.of(input)).join();
+
+        assertEquals(CreateEmployeeBatchResult.Status.CREATED, results.get(0).getStatus());
+        verify(employeeService, times(2)).createEmployee(eq(input), any(Duration.class));
+    }
+
+    @Test
+    void testItemRateLimitedOnEveryAttemptIsReported() {
+        CreateEmployeeRequest input = request("Shubham Patil");
+        when(employeeService.createEmployee(eq(input), any(Duration.class)))
+                .thenThrow(new UpstreamRateLimitedException("Upstream rate limit reached", Duration.ofMillis(1500)));
+
+        List<CreateEmployeeBatchResult> results = batchService.createEmployees(List.of(input)).join();
+
+        assertEquals(CreateEmployeeBatchResult.Status.RATE_LIMITED, results.get(0).getStatus());
+        assertEquals(Long.valueOf(2), results.get(0).getRetryAfterSeconds());
+        verify(employeeService, times(3)).createEmployee(eq(input), any(Duration.class));
+    }
+
+    @Test
+    void testBatchThatDoesNotFitInQueueIsRejected() {
+        EmployeeBatchService bounded = new EmployeeBatchService(employeeService, 1, 2, Duration.ofMinutes(1), false);
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeService.createEmployee(any(CreateEmployeeRequest.class), any(Duration.class)))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return null;
+                });
+        try {
+            CompletableFuture<List<CreateEmployeeBatchResult>> running =
+                    bounded.createEmployees(List.of(request("Shubham Patil"), request("Jane Doe")));
+
+            assertThrows(RejectedExecutionException.class, () -> bounded.createEmployees(List.of(request("John Doe"))));
+
+            release.countDown();
+            assertEquals(2, running.join().size());
+            assertEquals(1, bounded.createEmployees(List.of(request("John Doe"))).join().size());
+        } finally {
+            release.countDown();
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void testBudgetStartsWhenItemIsPickedUp() {
+        EmployeeBatchService serial = new EmployeeBatchService(employeeService, 1, 10, Duration.ofMillis(500), false);
+        CreateEmployeeRequest slow = request("Shubham Patil");
+        CreateEmployeeRequest queued = request("Jane Doe");
+        List<Duration> budgets = new CopyOnWriteArrayList<>();
+        when(employeeService.createEmployee(any(CreateEmployeeRequest.class), any(Duration.class)))
+                .thenAnswer(invocation -> {
+                    budgets.add(invocation.getArgument(1));
+                    if (invocation.getArgument(0) == slow) {
+                        Thread.sleep(800);
+                    }
+                    return null;
+                });
+        try {
+            serial.createEmployees(List.of(slow, queued)).join();
+        } finally {
+            serial.shutdown();
+        }
+
+        // The second item waited longer than the whole budget behind the first, yet still gets most of it.
+        assertEquals(2, budgets.size());
+        assertTrue(budgets.get(1).compareTo(Duration.ofMillis(400)) > 0);
+        verify(employeeService).createEmployee(eq(queued), any(Duration.class));
+    }
+
+    private static CreateEmployeeRequest request(String name) {
+        CreateEmployeeRequest request = new CreateEmployeeRequest();
+        request.setName(name);
+        request.setTitle("Engineer");
+        request.setSalary(1000);
+        request.setAge(30);
+        request.setEmail("employee@company.com");
+        return request;
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.dto.CreateEmployeeBatchResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.service.EmployeeBatchValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmployeeBatchValidatorTest {
+
+    private ValidatorFactory validatorFactory;
+    private EmployeeBatchValidator batchValidator;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        batchValidator = new EmployeeBatchValidator(validatorFactory.getValidator(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void testValidBatchPasses() {
+        assertTrue(batchValidator.validate(List.of(valid(), valid())).isEmpty());
+    }
+
+    @Test
+    void testEveryInvalidItemIsReported() {
+        CreateEmployeeRequest tooYoung = valid();
+        tooYoung.setAge(15);
+        CreateEmployeeRequest noEmail = valid();
+        noEmail.setEmail(" ");
+
+        List<CreateEmployeeBatchResult> invalid = batchValidator.validate(Arrays.asList(tooYoung, null));
+
+        assertEquals(2, invalid.size());
+        assertEquals(0, invalid.get(0).getIndex());
+        assertEquals(CreateEmployeeBatchResult.Status.INVALID, invalid.get(0).getStatus());
+        assertTrue(invalid.get(0).getError().startsWith("age "));
+        assertEquals(1, invalid.get(1).getIndex());
+        assertTrue(batchValidator.validate(List.of(valid(), noEmail)).get(0).getError().startsWith("email "));
+    }
+
+    @Test
+    void testOversizedBatchIsRejected() {
+        List<CreateEmployeeBatchResult> invalid = batchValidator.validate(List.of(valid(), valid(), valid()));
+
+        assertEquals(1, invalid.size());
+        assertEquals(2, invalid.get(0).getIndex());
+    }
+
+    private static CreateEmployeeRequest valid() {
+        CreateEmployeeRequest request = new CreateEmployeeRequest();
+        request.setName("Shubham Patil");
+        request.setTitle("Engineer");
+        request.setSalary(1000);
+        request.setAge(30);
+        request.setEmail("shubham.patil@gmail.com");
+        return request;
+    }
+}
@@ -1,32 +1,53 @@
 package com.reliaquest.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeNameRegistry;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
 import com.reliaquest.api.dto.CreateEmployeeRequest;
 import com.reliaquest.api.dto.DeleteEmployeeResponse;
 import com.reliaquest.api.dto.EmployeeDetailsResponse;
-import com.reliaquest.api.dto.GetAllEmployeeResponse;
+import com.reliaquest.api.dto.EmployeeLookupResult;
 import com.reliaquest.api.dto.GetSpecificEmployeeResponse;
+import com.reliaquest.api.dto.PreEncodedList;
+import com.reliaquest.api.metrics.EmployeeApiMetrics;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeStreamDecoder;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import com.reliaquest.api.upstream.UpstreamRateLimitedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 class EmployeeServiceTest {
@@ -37,31 +58,56 @@ class EmployeeServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
-    @InjectMocks
+    private EmployeeNameRegistry nameRegistry;
+
     private EmployeeService employeeService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        nameRegistry = new EmployeeNameRegistry();
+        employeeService = createService(0, false);
+    }
+
+    private EmployeeService createService(int pageSize, boolean ndjsonListing) {
+        EmployeeSnapshotCache snapshotCache =
+                new EmployeeSnapshotCache(Duration.ofSeconds(30), Duration.ofMinutes(5), Clock.systemUTC());
+        return new EmployeeService(
+                restTemplate,
+                "http://localhost:8112",
+                pageSize,
+                ndjsonListing,
+                true,
+                objectMapper,
+                new EmployeeStreamDecoder(new ObjectMapper()),
+                snapshotCache,
+                nameRegistry,
+                new AdaptiveRateLimiter(5, Duration.ofSeconds(30), Duration.ofMinutes(2), Duration.ZERO),
+                new EmployeeApiMetrics(new SimpleMeterRegistry(), snapshotCache));
+    }
+
+    private void givenAllEmployeesResponse(String jsonResponse) {
+        stubEmployeesResponse(anyString(), jsonResponse);
+    }
+
+    private void givenEmployeesResponse(String url, String jsonResponse) {
+        stubEmployeesResponse(eq(url), jsonResponse);
+    }
+
+    private void stubEmployeesResponse(String url, String jsonResponse) {
+        when(restTemplate.execute(url, eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(
+                            new MockClientHttpResponse(jsonResponse.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+                });
     }
 
     @Test
     void testGetAllEmployees() throws Exception {
         String jsonResponse =
                 "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Shubham Patil\",\"employee_salary\":1000,\"employee_age\":30,\"employee_title\":\"Engineer\",\"employee_email\":\"shubham.patil@gmail.com\"}],\"status\":\"Successfully processed request.\"}";
-        GetAllEmployeeResponse response = new GetAllEmployeeResponse();
-        EmployeeDetailsResponse employeeDetails = new EmployeeDetailsResponse();
-        employeeDetails.setId("1");
-        employeeDetails.setEmployee_name("Shubham Patil");
-        employeeDetails.setEmployee_salary(1000);
-        employeeDetails.setEmployee_age(30);
-        employeeDetails.setEmployee_title("Engineer");
-        employeeDetails.setEmployee_email("shubham.patil@gmail.com");
-        response.setData(new EmployeeDetailsResponse[] {employeeDetails});
-
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(jsonResponse);
-        when(objectMapper.readValue(anyString(), eq(GetAllEmployeeResponse.class)))
-                .thenReturn(response);
+        givenAllEmployeesResponse(jsonResponse);
 
         List<Employee> employees = employeeService.getAllEmployees();
         assertNotNull(employees);
@@ -69,15 +115,42 @@ class EmployeeServiceTest {
         assertEquals("Shubham Patil", employees.get(0).getName());
     }
 
+    @Test
+    void testGetAllEmployeesPaged() throws Exception {
+        EmployeeService pagedService = createService(1, false);
+        givenEmployeesResponse(
+                "http://localhost:8112/api/v1/employee?limit=1",
+                "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Shubham Patil\"}],\"nextCursor\":\"1\"}");
+        givenEmployeesResponse(
+                "http://localhost:8112/api/v1/employee?limit=1&cursor=1",
+                "{\"data\":[{\"id\":\"2\",\"employee_name\":\"Jane Doe\"}]}");
+
+        List<Employee> employees = pagedService.getAllEmployees();
+        assertEquals(2, employees.size());
+        assertEquals("Jane Doe", employees.get(1).getName());
+    }
+
+    @Test
+    void testGetAllEmployeesAsNdjson() throws Exception {
+        EmployeeService ndjsonService = createService(0, true);
+        String ndjson = "{\"id\":\"1\",\"employee_name\":\"Shubham Patil\"}\n{\"id\":\"2\",\"employee_name\":\"Jane Doe\"}\n";
+        when(restTemplate.execute(
+                        anyString(), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(
+                            new MockClientHttpResponse(ndjson.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+                });
+
+        List<Employee> employees = ndjsonService.getAllEmployees();
+        assertEquals(2, employees.size());
+        assertEquals("Jane Doe", employees.get(1).getName());
+    }
+
     @Test
     void testGetAllEmployeesEmpty() throws Exception {
         String jsonResponse = "{\"data\":[],\"status\":\"Successfully processed request.\"}";
-        GetAllEmployeeResponse response = new GetAllEmployeeResponse();
-        response.setData(new EmployeeDetailsResponse[] {});
-
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(jsonResponse);
-        when(objectMapper.readValue(anyString(), eq(GetAllEmployeeResponse.class)))
-                .thenReturn(response);
+        givenAllEmployeesResponse(jsonResponse);
 
         List<Employee> employees = employeeService.getAllEmployees();
         assertNotNull(employees);
@@ -88,19 +161,7 @@ class EmployeeServiceTest {
     void testGetEmployeesByNameSearch() throws Exception {
         String jsonResponse =
                 "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Shubham Patil\",\"employee_salary\":1000,\"employee_age\":30,\"employee_title\":\"Engineer\",\"employee_email\":\"shubham.patil@gmail.com\"}],\"status\":\"Successfully processed request.\"}";
-        GetAllEmployeeResponse response = new GetAllEmployeeResponse();
-        EmployeeDetailsResponse employeeDetails = new EmployeeDetailsResponse();
-        employeeDetails.setId("1");
-        employeeDetails.setEmployee_name("Shubham Patil");
-        employeeDetails.setEmployee_salary(1000);
-        employeeDetails.setEmployee_age(30);
-        employeeDetails.setEmployee_title("Engineer");
-        employeeDetails.setEmployee_email("shubham.patil@gmail.com");
-        response.setData(new EmployeeDetailsResponse[] {employeeDetails});
-
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(jsonResponse);
-        when(objectMapper.readValue(anyString(), eq(GetAllEmployeeResponse.class)))
-                .thenReturn(response);
+        givenAllEmployeesResponse(jsonResponse);
 
         List<Employee> employees = employeeService.getEmployeesByNameSearch("Shubham");
         assertNotNull(employees);
@@ -111,12 +172,7 @@ class EmployeeServiceTest {
     @Test
     void testGetEmployeesByNameSearchNotFound() throws Exception {
         String jsonResponse = "{\"data\":[],\"status\":\"Successfully processed request.\"}";
-        GetAllEmployeeResponse response = new GetAllEmployeeResponse();
-        response.setData(new EmployeeDetailsResponse[] {});
-
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(jsonResponse);
-        when(objectMapper.readValue(anyString(), eq(GetAllEmployeeResponse.class)))
-                .thenReturn(response);
+        givenAllEmployeesResponse(jsonResponse);
 
         List<Employee> employees = employeeService.getEmployeesByNameSearch("Shubham");
         assertNull(employees);
@@ -158,30 +214,23 @@ class EmployeeServiceTest {
         assertNull(employee);
     }
 
+    @Test
+    void testGetEmployeeByIdRateLimited() {
+        when(restTemplate.getForObject(anyString(), eq(String.class)))
+                .thenThrow(HttpClientErrorException.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null));
+
+        assertThrows(UpstreamRateLimitedException.class, () -> employeeService.getEmployeeById("1"));
+        // The limiter now knows upstream is blocking and sheds the next call without sending it.
+        assertThrows(UpstreamRateLimitedException.class, () -> employeeService.getEmployeeById("2"));
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
+    }
+
     @Test
     void testGetHighestSalaryOfEmployees() throws Exception {
         String jsonResponse =
                 "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Shubham Patil\",\"employee_salary\":1000,\"employee_age\":30,\"employee_title\":\"Engineer\",\"employee_email\":\"shubham.patil@gmail.com\"},{\"id\":\"2\",\"employee_name\":\"Jane Doe\",\"employee_salary\":2000,\"employee_age\":25,\"employee_title\":\"Manager\",\"employee_email\":\"jane.doe@example.com\"}],\"status\":\"Successfully processed request.\"}";
-        GetAllEmployeeResponse response = new GetAllEmployeeResponse();
-        EmployeeDetailsResponse employeeDetails1 = new EmployeeDetailsResponse();
-        employeeDetails1.setId("1");
-        employeeDetails1.setEmployee_name("Shubham Patil");
-        employeeDetails1.setEmployee_salary(1000);
-        employeeDetails1.setEmployee_age(30);
-        employeeDetails1.setEmployee_title("Engineer");
-        employeeDetails1.setEmployee_email("shubham.patil@gmail.com");
-        EmployeeDetailsResponse employeeDetails2 = new EmployeeDetailsResponse();
-        employeeDetails2.setId("2");
-        employeeDetails2.setEmployee_name("Jane Doe");
-        employeeDetails2.setEmployee_salary(2000);
-        employeeDetails2.setEmployee_age(25);
-        employeeDetails2.setEmployee_title("Manager");
-        employeeDetails2.setEmployee_email("jane.doe@example.com");
-        response.setData(new EmployeeDetailsResponse[] {employeeDetails1, employeeDetails2});
-
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(jsonResponse);
-        when(objectMapper.readValue(anyString(), eq(GetAllEmployeeResponse.class)))
-                .thenReturn(response);
+        givenAllEmployeesResponse(jsonResponse);
 
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
         assertEquals(2000, highestSalary);
@@ -190,12 +239,7 @@ class EmployeeServiceTest {
     @Test
     void testGetHighestSalaryOfEmployeesNoEmployees() throws Exception {
         String jsonResponse = "{\"data\":[],\"status\":\"Successfully processed request.\"}";
-        GetAllEmployeeResponse response = new GetAllEmployeeResponse();
-        response.setData(new EmployeeDetailsResponse[] {});
-
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(jsonResponse);
-        when(objectMapper.readValue(anyString(), eq(GetAllEmployeeResponse.class)))
-                .thenReturn(response);
+        givenAllEmployeesResponse(jsonResponse);
 
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
         assertEquals(0, highestSalary);
@@ -205,26 +249,7 @@ class EmployeeServiceTest {
     void testGetTopTenHighestEarningEmployeeNames() throws Exception {
         String jsonResponse =
                 "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Shubham Patil\",\"employee_salary\":1000,\"employee_age\":30,\"employee_title\":\"Engineer\",\"employee_email\":\"shubham.patil@gmail.com\"},{\"id\":\"2\",\"employee_name\":\"Jane Doe\",\"employee_salary\":2000,\"employee_age\":25,\"employee_title\":\"Manager\",\"employee_email\":\"jane.doe@example.com\"}],\"status\":\"Successfully processed request.\"}";
-        GetAllEmployeeResponse response = new GetAllEmployeeResponse();
-        EmployeeDetailsResponse employeeDetails1 = new EmployeeDetailsResponse();
-        employeeDetails1.setId("1");
-        employeeDetails1.setEmployee_name("Shubham Patil");
-        employeeDetails1.setEmployee_salary(1000);
-        employeeDetails1.setEmployee_age(30);
-        employeeDetails1.setEmployee_title("Engineer");
-        employeeDetails1.setEmployee_email("shubham.patil@gmail.com");
-        EmployeeDetailsResponse employeeDetails2 = new EmployeeDetailsResponse();
-        employeeDetails2.setId("2");
-        employeeDetails2.setEmployee_name("Jane Doe");
-        employeeDetails2.setEmployee_salary(2000);
-        employeeDetails2.setEmployee_age(25);
-        employeeDetails2.setEmployee_title("Manager");
-        employeeDetails2.setEmployee_email("jane.doe@example.com");
-        response.setData(new EmployeeDetailsResponse[] {employeeDetails1, employeeDetails2});
-
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(jsonResponse);
-        when(objectMapper.readValue(anyString(), eq(GetAllEmployeeResponse.class)))
-                .thenReturn(response);
+        givenAllEmployeesResponse(jsonResponse);
 
         List<String> topTenHighestEarningEmployeeNames = employeeService.getTopTenHighestEarningEmployeeNames();
         assertNotNull(topTenHighestEarningEmployeeNames);
@@ -236,18 +261,22 @@ class EmployeeServiceTest {
     @Test
     void testGetTopTenHighestEarningEmployeeNamesNoEmployees() throws Exception {
         String jsonResponse = "{\"data\":[],\"status\":\"Successfully processed request.\"}";
-        GetAllEmployeeResponse response = new GetAllEmployeeResponse();
-        response.setData(new EmployeeDetailsResponse[] {});
-
-        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(jsonResponse);
-        when(objectMapper.readValue(anyString(), eq(GetAllEmployeeResponse.class)))
-                .thenReturn(response);
+        givenAllEmployeesResponse(jsonResponse);
 
         List<String> topTenHighestEarningEmployeeNames = employeeService.getTopTenHighestEarningEmployeeNames();
         assertNotNull(topTenHighestEarningEmployeeNames);
         assertEquals(0, topTenHighestEarningEmployeeNames.size());
     }
 
+    @Test
+    void testGetTopHighestEarningEmployeeNamesWithLimit() throws Exception {
+        String jsonResponse =
+                "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Shubham Patil\",\"employee_salary\":1000,\"employee_age\":30,\"employee_title\":\"Engineer\",\"employee_email\":\"shubham.patil@gmail.com\"},{\"id\":\"2\",\"employee_name\":\"Jane Doe\",\"employee_salary\":2000,\"employee_age\":25,\"employee_title\":\"Manager\",\"employee_email\":\"jane.doe@example.com\"}],\"status\":\"Successfully processed request.\"}";
+        givenAllEmployeesResponse(jsonResponse);
+
+        assertEquals(List.of("Jane Doe"), employeeService.getTopHighestEarningEmployeeNames(1));
+    }
+
     @Test
     void testCreateEmployee() throws Exception {
         CreateEmployeeRequest input = new CreateEmployeeRequest();
@@ -363,4 +392,99 @@ class EmployeeServiceTest {
         String result = employeeService.deleteEmployeeById(id);
         assertEquals("Failed to delete employee", result);
     }
+
+    @Test
+    void testDeleteEmployeeByIdUsesKnownName() throws Exception {
+        Employee employee = new Employee();
+        employee.setId("1");
+        employee.setName("Shubham Patil");
+        nameRegistry.register(employee);
+
+        DeleteEmployeeResponse deleteResponse = new DeleteEmployeeResponse();
+        deleteResponse.setData(true);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(new ResponseEntity<>("{\"data\":true}", HttpStatus.OK));
+        when(objectMapper.readValue(anyString(), eq(DeleteEmployeeResponse.class)))
+                .thenReturn(deleteResponse);
+
+        assertEquals("Employee deleted successfully", employeeService.deleteEmployeeById("1"));
+        verify(restTemplate, never()).getForObject(anyString(), eq(String.class));
+        assertTrue(nameRegistry.nameOf("1").isEmpty());
+    }
+
+    @Test
+    void testReadsAreServedFromSnapshot() throws Exception {
+        String jsonResponse =
+                "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Shubham Patil\",\"employee_salary\":1000,\"employee_age\":30,\"employee_title\":\"Engineer\",\"employee_email\":\"shubham.patil@gmail.com\"}],\"status\":\"Successfully processed request.\"}";
+        givenAllEmployeesResponse(jsonResponse);
+
+        employeeService.getAllEmployees();
+        assertEquals(1000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Shubham Patil"), employeeService.getTopTenHighestEarningEmployeeNames());
+        assertEquals(1, employeeService.getEmployeesByNameSearch("patil").size());
+        assertEquals("Shubham Patil", employeeService.getEmployeeById("1").getName());
+
+        verify(restTemplate, times(1)).execute(anyString(), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
+    }
+
+    @Test
+    void testCreateEmployeeIsVisibleInSnapshot() throws Exception {
+        givenAllEmployeesResponse("{\"data\":[],\"status\":\"Successfully processed request.\"}");
+        assertEquals(0, employeeService.getAllEmployees().size());
+
+        CreateEmployeeRequest input = new CreateEmployeeRequest();
+        input.setName("Jane Doe");
+        input.setTitle("Manager");
+        input.setSalary(2000);
+        input.setAge(25);
+        input.setEmail("jane.doe@example.com");
+        GetSpecificEmployeeResponse createResponse = new GetSpecificEmployeeResponse();
+        EmployeeDetailsResponse employeeDetails = new EmployeeDetailsResponse();
+        employeeDetails.setId("2");
+        employeeDetails.setEmployee_name("Jane Doe");
+        employeeDetails.setEmployee_salary(2000);
+        employeeDetails.setEmployee_age(25);
+        employeeDetails.setEmployee_title("Manager");
+        employeeDetails.setEmployee_email("jane.doe@example.com");
+        createResponse.setData(employeeDetails);
+        when(restTemplate.postForObject(anyString(), any(), eq(GetSpecificEmployeeResponse.class)))
+                .thenReturn(createResponse);
+
+        employeeService.createEmployee(input);
+
+        assertEquals(2000, employeeService.getHighestSalaryOfEmployees());
+        verify(restTemplate, times(1)).execute(anyString(), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
+    }
+
+    @Test
+    void testGetEmployeesByIds() throws Exception {
+        String jsonResponse =
+                "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Shubham Patil\",\"employee_salary\":1000}],\"status\":\"Successfully processed request.\"}";
+        givenAllEmployeesResponse(jsonResponse);
+
+        List<EmployeeLookupResult> results = employeeService.getEmployeesByIds(List.of("1", "9", "1"));
+
+        assertEquals(List.of("1", "9", "1"), results.stream().map(EmployeeLookupResult::getId).toList());
+        assertEquals("Shubham Patil", results.get(0).getEmployee().getName());
+        assertFalse(results.get(1).isFound());
+        assertNull(results.get(1).getEmployee());
+        assertTrue(results.get(2).isFound());
+        // The snapshot was just fetched, so the unknown id does not trigger another list fetch or a lookup by id.
+        verify(restTemplate, times(1)).execute(anyString(), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void testGetAllEmployeesEncodesOncePerSnapshot() throws Exception {
+        givenAllEmployeesResponse("{\"data\":[{\"id\":\"1\",\"employee_name\":\"Shubham Patil\"}]}");
+        byte[] json = "[{\"id\":\"1\"}]".getBytes(StandardCharsets.UTF_8);
+        when(objectMapper.writeValueAsBytes(any())).thenReturn(json);
+
+        PreEncodedList<Employee> first = (PreEncodedList<Employee>) employeeService.getAllEmployees();
+        PreEncodedList<Employee> second = (PreEncodedList<Employee>) employeeService.getAllEmployees();
+
+        assertSame(json, first.getJson());
+        assertSame(json, second.getJson());
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+    }
 }
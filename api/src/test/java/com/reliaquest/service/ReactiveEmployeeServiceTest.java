@@ -0,0 +1,240 @@
+package com.reliaquest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeNameRegistry;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.dto.CreateEmployeeBatchResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.EmployeeLookupResult;
+import com.reliaquest.api.metrics.EmployeeApiMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeStreamDecoder;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import com.reliaquest.api.upstream.UpstreamRateLimitedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+class ReactiveEmployeeServiceTest {
+
+    private static final String EMPLOYEES_JSON =
+            "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Shubham Patil\",\"employee_salary\":1000,\"employee_age\":30,\"employee_title\":\"Engineer\",\"employee_email\":\"shubham.patil@gmail.com\"},{\"id\":\"2\",\"employee_name\":\"Jane Doe\",\"employee_salary\":2000}],\"status\":\"Successfully processed request.\"}";
+
+    private final Map<String, CannedResponse> responses = new ConcurrentHashMap<>();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicLong clockOffset = new AtomicLong();
+
+    private AdaptiveRateLimiter rateLimiter;
+    private ReactiveEmployeeService employeeService;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeSnapshotCache snapshotCache =
+                new EmployeeSnapshotCache(Duration.ofSeconds(30), Duration.ofMinutes(5), Clock.systemUTC());
+        WebClient webClient = WebClient.builder().exchangeFunction(this::exchange).build();
+        rateLimiter = new AdaptiveRateLimiter(
+                5,
+                Duration.ofSeconds(30),
+                Duration.ofMinutes(2),
+                Duration.ZERO,
+                () -> System.nanoTime() + clockOffset.get());
+        employeeService = new ReactiveEmployeeService(
+                webClient,
+                "http://localhost:8112",
+                true,
+                DataSize.ofMegabytes(1),
+                4,
+                Duration.ofMinutes(1),
+                new ObjectMapper(),
+                new EmployeeStreamDecoder(new ObjectMapper()),
+                snapshotCache,
+                new EmployeeNameRegistry(),
+                rateLimiter,
+                new EmployeeApiMetrics(new SimpleMeterRegistry(), snapshotCache));
+    }
+
+    private record CannedResponse(HttpStatus status, String body) {}
+
+    private void givenResponse(HttpMethod method, String path, HttpStatus status, String body) {
+        responses.put(method.name() + " " + path, new CannedResponse(status, body));
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request) {
+        upstreamCalls.incrementAndGet();
+        CannedResponse response = responses.get(request.method().name() + " " + request.url().getPath());
+        if (response == null) {
+            return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+        }
+        return Mono.just(ClientResponse.create(response.status())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(response.body())
+                .build());
+    }
+
+    @Test
+    void testGetAllEmployees() {
+        givenResponse(HttpMethod.GET, "/api/v1/employee", HttpStatus.OK, EMPLOYEES_JSON);
+
+        List<Employee> employees = employeeService.getAllEmployees().block();
+        assertEquals(2, employees.size());
+        assertEquals("Shubham Patil", employees.get(0).getName());
+    }
+
+    @Test
+    void testListingLargerThanMaxResponseSizeIsRejected() {
+        String padding = " ".repeat((int) DataSize.ofMegabytes(1).toBytes());
+        givenResponse(HttpMethod.GET, "/api/v1/employee", HttpStatus.OK, EMPLOYEES_JSON + padding);
+
+        assertThrows(DataBufferLimitException.class, () -> employeeService.getAllEmployees().block());
+    }
+
+    @Test
+    void testReadsAreServedFromSnapshot() {
+        givenResponse(HttpMethod.GET, "/api/v1/employee", HttpStatus.OK, EMPLOYEES_JSON);
+
+        employeeService.getAllEmployees().block();
+        assertEquals(2000, employeeService.getHighestSalaryOfEmployees().block());
+        assertEquals(
+                List.of("Jane Doe", "Shubham Patil"),
+                employeeService.getTopTenHighestEarningEmployeeNames().block());
+        assertEquals("Jane Doe", employeeService.getEmployeeById("2").block().getName());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetEmployeesByNameSearchNotFound() {
+        givenResponse(HttpMethod.GET, "/api/v1/employee", HttpStatus.OK, EMPLOYEES_JSON);
+
+        assertNull(employeeService.getEmployeesByNameSearch("zzz").block());
+    }
+
+    @Test
+    void testGetEmployeeByIdNotFound() {
+        assertNull(employeeService.getEmployeeById("3").block());
+    }
+
+    @Test
+    void testGetEmployeeByIdRateLimited() {
+        givenResponse(HttpMethod.GET, "/api/v1/employee/3", HttpStatus.TOO_MANY_REQUESTS, "");
+
+        assertThrows(UpstreamRateLimitedException.class, () -> employeeService.getEmployeeById("3").block());
+    }
+
+    @Test
+    void testShedLookupIsNotKeptInFlight() {
+        givenResponse(
+                HttpMethod.GET,
+                "/api/v1/employee/3",
+                HttpStatus.OK,
+                "{\"data\":{\"id\":\"3\",\"employee_name\":\"New Hire\",\"employee_salary\":500}}");
+        rateLimiter.onPublishedLimits(5, 0, Duration.ofSeconds(10));
+
+        assertThrows(UpstreamRateLimitedException.class, () -> employeeService.getEmployeeById("3").block());
+        assertEquals(0, upstreamCalls.get());
+
+        clockOffset.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertEquals("New Hire", employeeService.getEmployeeById("3").block().getName());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testCreateEmployeeIsVisibleInSnapshot() {
+        givenResponse(HttpMethod.GET, "/api/v1/employee", HttpStatus.OK, EMPLOYEES_JSON);
+        givenResponse(
+                HttpMethod.POST,
+                "/api/v1/employee",
+                HttpStatus.OK,
+                "{\"data\":{\"id\":\"3\",\"employee_name\":\"New Hire\",\"employee_salary\":500}}");
+        employeeService.getAllEmployees().block();
+
+        CreateEmployeeRequest input = new CreateEmployeeRequest();
+        input.setName("New Hire");
+        Employee created = employeeService.createEmployee(input).block();
+
+        assertEquals("3", created.getId());
+        assertEquals(3, employeeService.getAllEmployees().block().size());
+    }
+
+    @Test
+    void testCreateEmployeesKeepsSubmissionOrder() {
+        givenResponse(
+                HttpMethod.POST,
+                "/api/v1/employee",
+                HttpStatus.OK,
+                "{\"data\":{\"id\":\"3\",\"employee_name\":\"New Hire\",\"employee_salary\":500}}");
+        CreateEmployeeRequest first = new CreateEmployeeRequest();
+        first.setName("New Hire");
+        CreateEmployeeRequest second = new CreateEmployeeRequest();
+        second.setName("Other Hire");
+
+        List<CreateEmployeeBatchResult> results =
+                employeeService.createEmployees(List.of(first, second)).collectList().block();
+
+        assertEquals(2, results.size());
+        assertEquals(0, results.get(0).getIndex());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(CreateEmployeeBatchResult.Status.CREATED, results.get(1).getStatus());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testDeleteEmployeeById() {
+        givenResponse(HttpMethod.GET, "/api/v1/employee", HttpStatus.OK, EMPLOYEES_JSON);
+        givenResponse(HttpMethod.DELETE, "/api/v1/employee", HttpStatus.OK, "{\"data\":true}");
+        employeeService.getAllEmployees().block();
+
+        assertEquals("Employee deleted successfully", employeeService.deleteEmployeeById("1").block());
+        assertEquals(1, employeeService.getAllEmployees().block().size());
+    }
+
+    @Test
+    void testDeleteEmployeeByIdNotFound() {
+        assertEquals("Employee not found", employeeService.deleteEmployeeById("3").block());
+    }
+
+    @Test
+    void testDeleteEmployeeByIdFailure() {
+        givenResponse(HttpMethod.GET, "/api/v1/employee", HttpStatus.OK, EMPLOYEES_JSON);
+        givenResponse(HttpMethod.DELETE, "/api/v1/employee", HttpStatus.INTERNAL_SERVER_ERROR, "");
+        employeeService.getAllEmployees().block();
+
+        assertEquals("Internal server error", employeeService.deleteEmployeeById("1").block());
+    }
+
+    @Test
+    void testGetEmployeesByIds() {
+        givenResponse(HttpMethod.GET, "/api/v1/employee", HttpStatus.OK, EMPLOYEES_JSON);
+
+        List<EmployeeLookupResult> results =
+                employeeService.getEmployeesByIds(List.of("2", "3", "1")).block();
+
+        assertEquals("Jane Doe", results.get(0).getEmployee().getName());
+        assertEquals("3", results.get(1).getId());
+        assertFalse(results.get(1).isFound());
+        assertEquals("Shubham Patil", results.get(2).getEmployee().getName());
+        assertEquals(1, upstreamCalls.get());
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeDetailsResponse;
+import com.reliaquest.api.dto.GetAllEmployeeResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic employee datasets shaped like the mock server's, so runs of the same size are comparable.
+ */
+final class EmployeeDatasets {
+
+    static final String STATUS = "Successfully processed request.";
+
+    private static final long SEED = 0x5EED_2024L;
+
+    private static final String[] FIRST_NAMES = {
+        "Tiger", "Bill", "Jill", "Ashton", "Cedric", "Airi", "Brielle", "Herrod", "Rhona", "Colleen",
+        "Sonya", "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael", "Paul", "Gloria", "Bradley"
+    };
+    private static final String[] LAST_NAMES = {
+        "Nixon", "Bob", "Jenkins", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson", "Hurst",
+        "Frost", "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva", "Byrd", "Little", "Greer"
+    };
+    private static final String[] TITLES = {
+        "Accountant", "Software Engineer", "Technical Author", "Sales Assistant", "Integration Specialist",
+        "Javascript Developer", "Regional Director", "Systems Administrator", "Financial Advisor", "Office Manager"
+    };
+
+    private EmployeeDatasets() {}
+
+    static GetAllEmployeeResponse response(int size) {
+        Random random = new Random(SEED);
+        EmployeeDetailsResponse[] data = new EmployeeDetailsResponse[size];
+        for (int i = 0; i < size; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            EmployeeDetailsResponse employee = new EmployeeDetailsResponse();
+            employee.setId(new UUID(random.nextLong(), random.nextLong()).toString());
+            employee.setEmployee_name(firstName + " " + lastName);
+            employee.setEmployee_salary(30_000 + random.nextInt(470_000));
+            employee.setEmployee_age(16 + random.nextInt(60));
+            employee.setEmployee_title(TITLES[random.nextInt(TITLES.length)]);
+            employee.setEmployee_email((firstName.charAt(0) + lastName + i + "@company.com").toLowerCase());
+            data[i] = employee;
+        }
+        GetAllEmployeeResponse response = new GetAllEmployeeResponse();
+        response.setData(data);
+        response.setStatus(STATUS);
+        return response;
+    }
+
+    static List<Employee> employees(int size) {
+        return EmployeeMapper.mapToEmployeeList(response(size));
+    }
+
+    static byte[] json(ObjectMapper objectMapper, int size) throws IOException {
+        return objectMapper.writeValueAsBytes(response(size));
+    }
+}
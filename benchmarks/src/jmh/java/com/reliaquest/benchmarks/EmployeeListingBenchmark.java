@@ -0,0 +1,67 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.GetAllEmployeeResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeMapper;
+import com.reliaquest.api.service.EmployeeStreamDecoder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of turning an upstream listing into employees: decoding the JSON body into {@link GetAllEmployeeResponse}
+ * and mapping it, against the streaming {@link EmployeeStreamDecoder} the service uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmployeeListingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private EmployeeStreamDecoder decoder;
+    private byte[] json;
+    private GetAllEmployeeResponse decoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        decoder = new EmployeeStreamDecoder(objectMapper);
+        json = EmployeeDatasets.json(objectMapper, size);
+        decoded = objectMapper.readValue(json, GetAllEmployeeResponse.class);
+    }
+
+    @Benchmark
+    public GetAllEmployeeResponse decodeResponse() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(json), GetAllEmployeeResponse.class);
+    }
+
+    @Benchmark
+    public List<Employee> mapToEmployeeList() {
+        return EmployeeMapper.mapToEmployeeList(decoded);
+    }
+
+    @Benchmark
+    public List<Employee> decodeAndMap() throws IOException {
+        return EmployeeMapper.mapToEmployeeList(
+                objectMapper.readValue(new ByteArrayInputStream(json), GetAllEmployeeResponse.class));
+    }
+
+    @Benchmark
+    public List<Employee> streamDecode() throws IOException {
+        return decoder.decodeList(new ByteArrayInputStream(json));
+    }
+}
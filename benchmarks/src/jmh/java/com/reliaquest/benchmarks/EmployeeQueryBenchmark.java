@@ -0,0 +1,91 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeNameRegistry;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.metrics.EmployeeApiMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeStreamDecoder;
+import com.reliaquest.api.upstream.AdaptiveRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Read paths of {@link EmployeeService} over a warm snapshot: name search, highest salary and top-ten selection. The
+ * snapshot's TTL outlives the run, so no upstream call is ever made.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeQueryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    // A common surname fragment, and one that matches nobody.
+    @Param({"ixo", "zzz"})
+    String searchString;
+
+    private EmployeeSnapshotCache snapshotCache;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        snapshotCache = new EmployeeSnapshotCache(Duration.ofDays(1), Duration.ZERO, Clock.systemUTC());
+        employeeService = new EmployeeService(
+                new RestTemplate(),
+                "http://localhost:8112",
+                0,
+                false,
+                false,
+                objectMapper,
+                new EmployeeStreamDecoder(objectMapper),
+                snapshotCache,
+                new EmployeeNameRegistry(),
+                new AdaptiveRateLimiter(5, Duration.ofSeconds(30), Duration.ofMinutes(2), Duration.ZERO),
+                new EmployeeApiMetrics(new SimpleMeterRegistry(), snapshotCache));
+        List<Employee> employees = EmployeeDatasets.employees(size);
+        snapshotCache.get(previous -> EmployeeSnapshot.next(previous, employees, Instant.now()));
+        // Indexes are built on first use; keep that out of the measurement.
+        employeeService.getEmployeesByNameSearch(searchString);
+        employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        snapshotCache.shutdown();
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return employeeService.getEmployeesByNameSearch(searchString);
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> topTenHighestEarningNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+}
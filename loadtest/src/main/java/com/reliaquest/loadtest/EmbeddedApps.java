@@ -0,0 +1,69 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the mock server and/or the api in this JVM on random ports.
+ *
+ * <p>Both modules ship an {@code application.yml} at the same classpath location, so only one would be picked up for
+ * both apps. Neither is read here: each app runs on its code defaults plus the overrides passed below.
+ */
+final class EmbeddedApps implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedApps.class);
+
+    private static final String CONFIG_NAME = "--spring.config.name=loadtest";
+    private static final String QUIET_LOGGING = "--logging.level.com.reliaquest=WARN";
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    String startServer(int employees, long seed) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ServerApplication.class)
+                .run(
+                        CONFIG_NAME,
+                        QUIET_LOGGING,
+                        "--server.port=0",
+                        "--spring.application.name=mock-employee-api",
+                        "--mock.employees.max=" + employees,
+                        "--mock.employees.seed=" + seed);
+        contexts.add(context);
+        String url = urlOf(context);
+        logger.info("Started mock server with {} employees at {}", employees, url);
+        return url;
+    }
+
+    String startApi(String serverUrl, boolean virtualThreads, boolean reactive) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiApplication.class)
+                .run(
+                        CONFIG_NAME,
+                        QUIET_LOGGING,
+                        "--server.port=0",
+                        "--spring.application.name=employee-api",
+                        "--employee.api.base-url=" + serverUrl,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--employee.api.reactive.enabled=" + reactive);
+        contexts.add(context);
+        String url = urlOf(context);
+        logger.info("Started api at {} against {}", url, serverUrl);
+        return url;
+    }
+
+    private static String urlOf(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() {
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+        contexts.clear();
+    }
+}
@@ -0,0 +1,142 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Drives the api with the configured {@link OperationMix}.
+ *
+ * <ul>
+ *   <li><b>closed loop</b> - {@code concurrency} workers each send the next request as soon as the previous one
+ *   completes; latency is measured from send to response.</li>
+ *   <li><b>open loop</b> - requests are scheduled at a fixed {@code rate} regardless of how fast responses come back,
+ *   and at most {@code concurrency} are in flight. Latency is measured from the time a request was <em>due</em>, so
+ *   time spent queued behind a slow target counts against it instead of being silently omitted.</li>
+ * </ul>
+ *
+ * <p>Only requests due after the warmup are recorded.
+ */
+final class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final TargetState state;
+    private final HttpClient httpClient;
+    private final LoadResults results = new LoadResults();
+
+    LoadGenerator(LoadTestOptions options, String baseUrl, TargetState state, HttpClient httpClient) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.state = state;
+        this.httpClient = httpClient;
+    }
+
+    LoadResults run() throws InterruptedException {
+        long start = System.nanoTime();
+        long recordFrom = start + options.warmup().toNanos();
+        long end = recordFrom + options.duration().toNanos();
+        logger.info("Driving {}: {}", baseUrl, options);
+        if (options.mode() == LoadTestOptions.Mode.OPEN) {
+            runOpenLoop(start, recordFrom, end);
+        } else {
+            runClosedLoop(recordFrom, end);
+        }
+        return results;
+    }
+
+    private void runClosedLoop(long recordFrom, long end) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        for (int worker = 0; worker < options.concurrency(); worker++) {
+            RandomGenerator random = new SplittableRandom(options.seed() + worker);
+            workers.execute(() -> {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    send(options.mix().next(random), random, now, now >= recordFrom);
+                }
+            });
+        }
+        awaitTermination(workers);
+    }
+
+    private void runOpenLoop(long start, long recordFrom, long end) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        SplittableRandom random = new SplittableRandom(options.seed());
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) options.rate();
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * intervalNanos);
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = options.mix().next(random);
+            RandomGenerator requestRandom = random.split();
+            workers.execute(() -> send(operation, requestRandom, due, due >= recordFrom));
+        }
+        awaitTermination(workers);
+    }
+
+    private void send(Operation operation, RandomGenerator random, long due, boolean record) {
+        HttpRequest.Builder builder = operation.request(baseUrl, state, random);
+        if (builder == null) {
+            // Nothing this run created is left to delete; look one up instead so the arrival rate holds.
+            operation = Operation.GET_BY_ID;
+            builder = operation.request(baseUrl, state, random);
+        }
+        HttpRequest request = builder.timeout(options.timeout()).build();
+        String outcome;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            outcome = outcome(response);
+            if (operation == Operation.CREATE && response.statusCode() == 200) {
+                state.recordCreated(response.body());
+            }
+        } catch (HttpTimeoutException e) {
+            outcome = LoadResults.TIMEOUT;
+        } catch (IOException e) {
+            outcome = LoadResults.IO_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (record) {
+            results.record(operation, outcome, System.nanoTime() - due);
+        }
+    }
+
+    private static String outcome(HttpResponse<?> response) {
+        if (response.statusCode() == 503 && response.headers().firstValue(HttpHeaders.RETRY_AFTER).isPresent()) {
+            return LoadResults.RATE_LIMITED;
+        }
+        return String.valueOf(response.statusCode());
+    }
+
+    /**
+     * Waits for requests already due to complete. An open-loop run that fell behind may have a backlog of up to a
+     * whole run's worth, so allow for that before giving up.
+     */
+    private void awaitTermination(ExecutorService workers) throws InterruptedException {
+        workers.shutdown();
+        long backlog = options.warmup().plus(options.duration()).plus(options.timeout()).toNanos();
+        if (!workers.awaitTermination(backlog, TimeUnit.NANOSECONDS)) {
+            logger.warn("Requests still in flight after the run; abandoning them");
+            workers.shutdownNow();
+        }
+    }
+}
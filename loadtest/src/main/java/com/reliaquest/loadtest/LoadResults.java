@@ -0,0 +1,90 @@
+package com.reliaquest.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms and outcome counts per {@link Operation}, safe to record into from many threads.
+ *
+ * <p>Latencies are in microseconds. Outcomes are the status code, with {@code 503} answered with a
+ * {@code Retry-After} reported separately as {@link #RATE_LIMITED} (the api's translation of an upstream {@code 429}),
+ * plus {@link #TIMEOUT} and {@link #IO_ERROR} for calls without a response.
+ */
+final class LoadResults {
+
+    static final String RATE_LIMITED = "503 rate-limited";
+    static final String TIMEOUT = "timeout";
+    static final String IO_ERROR = "io-error";
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<String, LongAdder>> outcomes = new EnumMap<>(Operation.class);
+
+    LoadResults() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            outcomes.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    void record(Operation operation, String outcome, long latencyNanos) {
+        long micros = Math.min(MAX_LATENCY_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        latencies.get(operation).recordValue(micros);
+        outcomes.get(operation).computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    long count(Operation operation, String outcome) {
+        LongAdder count = outcomes.get(operation).get(outcome);
+        return count == null ? 0 : count.sum();
+    }
+
+    long totalCount() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    void print(PrintStream out, Duration measured) {
+        Histogram all = new Histogram(MAX_LATENCY_MICROS, 3);
+        Map<String, Long> allOutcomes = new TreeMap<>();
+        double seconds = measured.toNanos() / 1e9;
+
+        out.printf(
+                "%-10s %9s %10s %9s %9s %9s %9s %9s  %s%n",
+                "operation", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "outcomes");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(histogram);
+            Map<String, Long> counts = outcomeCounts(operation);
+            counts.forEach((outcome, count) -> allOutcomes.merge(outcome, count, Long::sum));
+            printRow(out, operation.key(), histogram, seconds, counts);
+        }
+        printRow(out, "all", all, seconds, allOutcomes);
+    }
+
+    private Map<String, Long> outcomeCounts(Operation operation) {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.get(operation).forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    private static void printRow(
+            PrintStream out, String label, Histogram histogram, double seconds, Map<String, Long> outcomes) {
+        out.printf("%-10s %9d %10.1f", label, histogram.getTotalCount(), histogram.getTotalCount() / seconds);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %9.2f  %s%n", histogram.getMaxValue() / 1000.0, outcomes);
+    }
+}
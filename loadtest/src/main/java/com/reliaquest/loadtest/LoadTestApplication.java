@@ -0,0 +1,64 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Load generator for the api. Without {@code --api-url} it starts the mock server (unless {@code --server-url} is
+ * given) and the api in-process, lists the employees once to learn ids and names to query, then drives the api and
+ * prints latency percentiles, throughput and outcomes per operation. See {@link LoadTestOptions} for the options.
+ */
+public class LoadTestApplication {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestApplication.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (EmbeddedApps apps = new EmbeddedApps()) {
+            String apiUrl = options.apiUrl();
+            if (apiUrl == null) {
+                String serverUrl = options.serverUrl() != null
+                        ? options.serverUrl()
+                        : apps.startServer(options.employees(), options.seed());
+                apiUrl = apps.startApi(serverUrl, options.virtualThreads(), options.reactive());
+            }
+            run(options, apiUrl);
+        }
+    }
+
+    private static void run(LoadTestOptions options, String apiUrl) throws IOException, InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        TargetState state = new TargetState(objectMapper, listEmployees(httpClient, objectMapper, apiUrl));
+        logger.info("Target lists {} employees", state.knownEmployees());
+
+        LoadResults results = new LoadGenerator(options, apiUrl, state, httpClient).run();
+
+        System.out.println();
+        System.out.println("Load test against " + apiUrl + ": " + options);
+        results.print(System.out, options.duration());
+    }
+
+    private static JsonNode listEmployees(HttpClient httpClient, ObjectMapper objectMapper, String apiUrl)
+            throws IOException, InterruptedException {
+        HttpRequest request =
+                HttpRequest.newBuilder(URI.create(apiUrl + "/employee")).GET().build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(
+                    "Listing employees failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
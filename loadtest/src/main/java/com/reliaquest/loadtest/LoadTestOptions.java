@@ -0,0 +1,94 @@
+package com.reliaquest.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ *
+ * @param apiUrl api to drive; {@code null} starts one in-process
+ * @param serverUrl mock server the in-process api talks to; {@code null} starts one in-process
+ * @param mode open loop (fixed arrival rate) or closed loop (fixed concurrency)
+ * @param rate requests per second in open-loop mode
+ * @param concurrency workers in closed-loop mode; the cap on requests in flight in open-loop mode
+ * @param warmup time spent before recording starts
+ * @param duration time spent recording
+ * @param timeout per-request timeout
+ * @param mix relative weight of each operation
+ * @param employees size of the in-process mock server's dataset
+ * @param seed seeds the in-process dataset and the operation sequence
+ * @param virtualThreads run the in-process api with {@code spring.threads.virtual.enabled}
+ * @param reactive run the in-process api with {@code employee.api.reactive.enabled}
+ */
+public record LoadTestOptions(
+        String apiUrl,
+        String serverUrl,
+        Mode mode,
+        int rate,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Duration timeout,
+        OperationMix mix,
+        int employees,
+        long seed,
+        boolean virtualThreads,
+        boolean reactive) {
+
+    public enum Mode {
+        OPEN,
+        CLOSED
+    }
+
+    static final String DEFAULT_MIX = "list:30,search:20,get:30,highest:8,top-ten:8,create:2,delete:2";
+
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                values.remove("api-url"),
+                values.remove("server-url"),
+                Mode.valueOf(orDefault(values, "mode", "closed").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(orDefault(values, "rate", "100")),
+                Integer.parseInt(orDefault(values, "concurrency", "16")),
+                DurationStyle.detectAndParse(orDefault(values, "warmup", "5s")),
+                DurationStyle.detectAndParse(orDefault(values, "duration", "30s")),
+                DurationStyle.detectAndParse(orDefault(values, "timeout", "5s")),
+                OperationMix.parse(orDefault(values, "mix", DEFAULT_MIX)),
+                Integer.parseInt(orDefault(values, "employees", "1000")),
+                Long.parseLong(orDefault(values, "seed", "42")),
+                Boolean.parseBoolean(orDefault(values, "virtual-threads", "false")),
+                Boolean.parseBoolean(orDefault(values, "reactive", "false")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.rate < 1 || options.concurrency < 1) {
+            throw new IllegalArgumentException("--rate and --concurrency must be at least 1");
+        }
+        return options;
+    }
+
+    private static String orDefault(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public String toString() {
+        String load = mode == Mode.OPEN
+                ? "open loop at " + rate + " req/s (max " + concurrency + " in flight)"
+                : "closed loop with " + concurrency + " workers";
+        return load + ", warmup " + warmup.toSeconds() + "s, duration " + duration.toSeconds() + "s, mix " + mix
+                + ", seed " + seed + (virtualThreads ? ", virtual threads" : "")
+                + (reactive ? ", reactive" : "");
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.random.RandomGenerator;
+
+/**
+ * The api's {@code /employee} endpoints, as driven by the load generator.
+ */
+public enum Operation {
+    LIST("list"),
+    SEARCH("search"),
+    GET_BY_ID("get"),
+    HIGHEST_SALARY("highest"),
+    TOP_TEN("top-ten"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+
+    /**
+     * Builds the request for this operation against {@code baseUrl}, or {@code null} when there is nothing to act on
+     * (a delete with no employee created by this run).
+     */
+    HttpRequest.Builder request(String baseUrl, TargetState state, RandomGenerator random) {
+        String employees = baseUrl + "/employee";
+        return switch (this) {
+            case LIST -> get(employees);
+            case SEARCH -> get(employees + "/search/" + encode(state.randomSearchString(random)));
+            case GET_BY_ID -> get(employees + "/" + encode(state.randomId(random)));
+            case HIGHEST_SALARY -> get(employees + "/highest-salary");
+            case TOP_TEN -> get(employees + "/top-ten-highest-earners");
+            case CREATE -> HttpRequest.newBuilder(URI.create(employees))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(state.newEmployeeJson(random)));
+            case DELETE -> {
+                String id = state.takeCreatedId();
+                yield id == null
+                        ? null
+                        : HttpRequest.newBuilder(URI.create(employees + "/" + encode(id)))
+                                .DELETE();
+            }
+        };
+    }
+
+    private static HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * What the generator knows about the target: ids and name fragments of the employees listed when the run started,
+ * and employees this run created, which are the only ones it deletes.
+ */
+final class TargetState {
+
+    // Looked up by id when the listing is empty, so the request is still made (and answered with 404).
+    private static final String UNKNOWN_ID = "00000000-0000-0000-0000-000000000000";
+
+    private final ObjectMapper objectMapper;
+    private final List<String> ids;
+    private final List<String> searchStrings;
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createdCount = new AtomicLong();
+
+    TargetState(ObjectMapper objectMapper, JsonNode listing) {
+        this.objectMapper = objectMapper;
+        this.ids = new ArrayList<>();
+        this.searchStrings = new ArrayList<>();
+        for (JsonNode employee : listing) {
+            ids.add(employee.path("id").asText());
+            String name = employee.path("name").asText("");
+            String lastWord = name.substring(name.lastIndexOf(' ') + 1);
+            if (lastWord.length() >= 3) {
+                searchStrings.add(lastWord.substring(0, 3).toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    int knownEmployees() {
+        return ids.size();
+    }
+
+    String randomId(RandomGenerator random) {
+        return ids.isEmpty() ? UNKNOWN_ID : ids.get(random.nextInt(ids.size()));
+    }
+
+    String randomSearchString(RandomGenerator random) {
+        return searchStrings.isEmpty() ? "son" : searchStrings.get(random.nextInt(searchStrings.size()));
+    }
+
+    String newEmployeeJson(RandomGenerator random) {
+        long n = createdCount.incrementAndGet();
+        return objectMapper
+                .createObjectNode()
+                .put("name", "Load Test " + n)
+                .put("title", "Load Tester")
+                .put("salary", 30_000 + random.nextInt(200_000))
+                .put("age", 16 + random.nextInt(60))
+                .put("email", "loadtest" + n + "@company.com")
+                .toString();
+    }
+
+    /**
+     * Remembers the employee in a create response so a later delete can remove it.
+     */
+    void recordCreated(String responseBody) {
+        try {
+            String id = objectMapper.readTree(responseBody).path("id").asText(null);
+            if (id != null) {
+                createdIds.add(id);
+            }
+        } catch (Exception e) {
+            // Not an employee; nothing to delete later.
+        }
+    }
+
+    String takeCreatedId() {
+        return createdIds.poll();
+    }
+}
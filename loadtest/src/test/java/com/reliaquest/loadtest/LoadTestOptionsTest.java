@@ -0,0 +1,69 @@
+package com.reliaquest.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class LoadTestOptionsTest {
+
+    @Test
+    void testDefaults() {
+        LoadTestOptions options = LoadTestOptions.parse();
+
+        assertNull(options.apiUrl());
+        assertEquals(LoadTestOptions.Mode.CLOSED, options.mode());
+        assertEquals(16, options.concurrency());
+        assertEquals(Duration.ofSeconds(30), options.duration());
+        assertEquals(30, options.mix().weight(Operation.LIST));
+        assertFalse(options.virtualThreads());
+        assertFalse(options.reactive());
+    }
+
+    @Test
+    void testParsesOptions() {
+        LoadTestOptions options = LoadTestOptions.parse(
+                "--api-url=http://localhost:8111",
+                "--mode=open",
+                "--rate=250",
+                "--duration=2m",
+                "--mix=get:3,create:1",
+                "--reactive=true");
+
+        assertEquals("http://localhost:8111", options.apiUrl());
+        assertEquals(LoadTestOptions.Mode.OPEN, options.mode());
+        assertEquals(250, options.rate());
+        assertEquals(Duration.ofMinutes(2), options.duration());
+        assertEquals(3, options.mix().weight(Operation.GET_BY_ID));
+        assertEquals(0, options.mix().weight(Operation.LIST));
+        assertTrue(options.reactive());
+    }
+
+    @Test
+    void testRejectsUnknownOptions() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--rat=100"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--mix=fetch:1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--concurrency=0"));
+    }
+
+    @Test
+    void testMixFollowsWeights() {
+        OperationMix mix = OperationMix.parse("list:3,delete:1");
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertEquals(2, counts.size());
+        double listShare = counts.get(Operation.LIST) / 40_000.0;
+        assertTrue(listShare > 0.73 && listShare < 0.77, "list share " + listShare);
+    }
+}
@@ -1,19 +1,17 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.MockEmployeePersistence;
+import com.reliaquest.server.service.MockEmployeeStore;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Optional;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -30,26 +28,41 @@ public class ServerConfiguration implements WebMvcConfigurer {
         return new Faker(Locale.getDefault());
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+    public MockEmployeePersistence mockEmployeePersistence(
+            @Value("${mock.persistence.directory:data}") Path directory,
+            @Value("${mock.persistence.sync:true}") boolean syncJournal)
+            throws IOException {
+        return new MockEmployeePersistence(directory, syncJournal);
+    }
+
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This store is modifiable by design for CRUD operations. With persistence enabled it is reloaded from disk when a
+     * snapshot exists. Otherwise it is generated: set mock.employees.seed to reproduce a dataset; without it a random
+     * seed is chosen and logged.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            Optional<MockEmployeePersistence> persistence)
+            throws IOException {
+        final var persisted = persistence.isPresent() ? persistence.get().load() : Optional.<MockEmployeeStore>empty();
+        final var store = persisted.orElseGet(() -> generateStore(maxEmployees, seed));
+        if (persistence.isPresent()) {
+            persistence.get().attach(store);
+        }
+        return store;
+    }
+
+    private static MockEmployeeStore generateStore(int maxEmployees, Long seed) {
+        final var effectiveSeed = seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        log.info("Generating {} employees with seed {}", maxEmployees, effectiveSeed);
+        final var employees = new MockEmployeeGenerator(Locale.getDefault(), effectiveSeed).generate(maxEmployees);
+        final var store = MockEmployeeStore.of(employees);
+        log.debug("Created {} employees", store.size());
+        return store;
     }
 
     @Override
@@ -1,8 +1,12 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChangeFeed;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
@@ -10,6 +14,7 @@ import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,18 +22,84 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String SEQUENCE_HEADER = "X-Employee-Sequence";
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final SerializedString NDJSON_SEPARATOR = new SerializedString("\n");
+
     private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
 
+    /*
+     * Without limit or cursor the whole list is returned. With either, one keyset page of at most MAX_PAGE_SIZE is
+     * returned, with nextCursor set while more employees follow; cursors are opaque to clients.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        final var sequence = Long.toString(mockEmployeeService.getLatestChangeSequence());
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok()
+                    .header(SEQUENCE_HEADER, sequence)
+                    .body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+        }
+        if (limit != null && limit < 1) {
+            return ResponseEntity.badRequest().body(Response.error("limit must be positive"));
+        }
+        final long afterSequence;
+        try {
+            afterSequence = cursor == null ? 0 : Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(Response.error("Invalid cursor"));
+        }
+        final var page = mockEmployeeService.getMockEmployeesPage(
+                afterSequence, limit == null ? MAX_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE));
+        final var nextCursor = page.nextSequence() == null ? null : Long.toString(page.nextSequence());
+        return ResponseEntity.ok()
+                .header(SEQUENCE_HEADER, sequence)
+                .body(Response.handledWith(page.items(), nextCursor));
+    }
+
+    /*
+     * Newline-delimited JSON, one employee per line, written straight from the store to the response stream. Selected
+     * with Accept: application/x-ndjson.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        final var writer =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final StreamingResponseBody body = outputStream -> {
+            try (final var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(NDJSON_SEPARATOR);
+                for (final var employee : mockEmployeeService.streamMockEmployees()) {
+                    writer.writeValue(generator, employee);
+                }
+                generator.writeRaw('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(SEQUENCE_HEADER, Long.toString(mockEmployeeService.getLatestChangeSequence()))
+                .body(body);
+    }
+
+    /*
+     * Creates and deletes after the given sequence. Listings carry the sequence they reflect in X-Employee-Sequence,
+     * which is where a client starts following the feed.
+     */
+    @GetMapping("/changes")
+    public Response<MockEmployeeChangeFeed> getChanges(@RequestParam("since") long since) {
+        return Response.handledWith(mockEmployeeService.getChangesSince(since));
     }
 
     @GetMapping("/{id}")
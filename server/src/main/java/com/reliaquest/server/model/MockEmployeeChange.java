@@ -0,0 +1,25 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * One entry of the change feed. Creates carry the created employee; deletes carry only the id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeChange(long sequence, Type type, UUID id, MockEmployee employee) {
+
+    public static MockEmployeeChange created(long sequence, @NonNull MockEmployee employee) {
+        return new MockEmployeeChange(sequence, Type.CREATE, employee.getId(), employee);
+    }
+
+    public static MockEmployeeChange deleted(long sequence, @NonNull UUID id) {
+        return new MockEmployeeChange(sequence, Type.DELETE, id, null);
+    }
+
+    public enum Type {
+        CREATE,
+        DELETE
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes after the requested sequence, up to {@code latestSequence}. When {@code resyncRequired} is set the requested
+ * point is no longer (or never was) covered by the change log, {@code changes} is empty, and the client has to
+ * re-read the full list.
+ */
+public record MockEmployeeChangeFeed(long latestSequence, boolean resyncRequired, List<MockEmployeeChange> changes) {
+
+    public static MockEmployeeChangeFeed resync(long latestSequence) {
+        return new MockEmployeeChangeFeed(latestSequence, true, List.of());
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary dump of the whole store: a header ({@code MAGIC}, {@code FORMAT_VERSION}, record count) followed by
+ * {@link EmployeeRecords} back to back. Writes go to a temporary file that is fsynced and atomically moved into place,
+ * so a crash mid-write leaves the previous snapshot intact; reads map the file instead of streaming it through a heap
+ * buffer.
+ */
+final class EmployeeSnapshotFile {
+
+    private static final int MAGIC = 0x4D454D53; // "MEMS"
+    private static final int FORMAT_VERSION = 1;
+
+    private EmployeeSnapshotFile() {}
+
+    static void write(Path path, List<MockEmployee> employees) throws IOException {
+        final var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (final var channel = FileChannel.open(
+                        temporary,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                final var out = new DataOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(employees.size());
+            for (final var employee : employees) {
+                EmployeeRecords.write(out, employee);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the number of employees passed to {@code consumer}
+     */
+    static int read(Path path, Consumer<MockEmployee> consumer) throws IOException {
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GiB is not supported: " + path);
+            }
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not an employee snapshot: " + path);
+            }
+            final var count = buffer.getInt();
+            for (var i = 0; i < count; i++) {
+                consumer.accept(EmployeeRecords.read(buffer));
+            }
+            return count;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated employee snapshot: " + path, e);
+        }
+    }
+}
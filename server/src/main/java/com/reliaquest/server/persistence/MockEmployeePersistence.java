@@ -0,0 +1,166 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the mock store across restarts as a binary snapshot plus a journal of the creates and deletes made since.
+ * {@link #load()} maps the snapshot and replays the journal; {@link #attach} checkpoints when the journal had entries
+ * (or there was no snapshot) and starts journalling; {@link #close()} checkpoints again so the next start has nothing
+ * to replay.
+ *
+ * <p>A checkpoint replaces the snapshot before deleting the journal. If a crash lands between the two, the old journal
+ * is replayed over the new snapshot, which is harmless: replaying a create of an existing id or a delete of a missing
+ * one is a no-op.
+ *
+ * <p>Mutations run through {@link #whileOpen}, which {@link #close()} waits for, so the closing checkpoint holds every
+ * mutation the journal took and none is accepted after it.
+ */
+@Slf4j
+public class MockEmployeePersistence implements Closeable {
+
+    static final String SNAPSHOT_FILE = "employees.snapshot";
+    static final String JOURNAL_FILE = "employees.journal";
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final boolean syncJournal;
+
+    private boolean checkpointNeeded = true;
+    private MockEmployeeStore store;
+    private volatile MutationJournal journal;
+
+    // Read side held by each mutation while it journals and applies its change, write side by close().
+    private final ReadWriteLock mutationGate = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    public MockEmployeePersistence(Path directory, boolean syncJournal) throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.journalPath = directory.resolve(JOURNAL_FILE);
+        this.syncJournal = syncJournal;
+    }
+
+    /**
+     * @return the persisted store, or empty when nothing has been persisted yet
+     */
+    public synchronized Optional<MockEmployeeStore> load() throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return Optional.empty();
+        }
+        final var started = System.nanoTime();
+        final var employees = new ArrayList<MockEmployee>();
+        final var count = EmployeeSnapshotFile.read(snapshotPath, employees::add);
+        final var loaded = MockEmployeeStore.of(employees);
+        final var journalLength = Files.exists(journalPath)
+                ? MutationJournal.replay(journalPath, new MutationJournal.Listener() {
+                    @Override
+                    public void created(MockEmployee employee) {
+                        if (loaded.findById(employee.getId()).isEmpty()) {
+                            loaded.add(employee);
+                        }
+                    }
+
+                    @Override
+                    public void deleted(UUID id) {
+                        loaded.removeById(id);
+                    }
+                })
+                : 0;
+        checkpointNeeded = journalLength > 0;
+        log.info(
+                "Loaded {} employees from {} ({} after journal replay) in {} ms",
+                count,
+                snapshotPath,
+                loaded.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return Optional.of(loaded);
+    }
+
+    /**
+     * Starts journalling mutations of {@code store}.
+     */
+    public synchronized void attach(MockEmployeeStore store) throws IOException {
+        this.store = store;
+        if (checkpointNeeded) {
+            checkpoint();
+        }
+        journal = MutationJournal.open(journalPath, syncJournal);
+    }
+
+    /**
+     * Runs {@code mutation}, which records a change here and applies it to the store, holding off {@link #close()}
+     * until it returns.
+     *
+     * @throws RejectedExecutionException once closed, as the change could no longer be persisted
+     */
+    public <T> T whileOpen(Supplier<T> mutation) {
+        final var gate = mutationGate.readLock();
+        gate.lock();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException("Mock employee store is shutting down");
+            }
+            return mutation.get();
+        } finally {
+            gate.unlock();
+        }
+    }
+
+    public void recordCreate(MockEmployee employee) {
+        final var current = journal;
+        if (current != null) {
+            current.appendCreate(employee);
+        }
+    }
+
+    public void recordDelete(UUID id) {
+        final var current = journal;
+        if (current != null) {
+            current.appendDelete(id);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        final var gate = mutationGate.writeLock();
+        gate.lock();
+        try {
+            closed = true;
+            final var current = journal;
+            if (current == null) {
+                return;
+            }
+            journal = null;
+            current.close();
+            checkpoint();
+        } finally {
+            gate.unlock();
+        }
+    }
+
+    private void checkpoint() throws IOException {
+        final var started = System.nanoTime();
+        final var employees = store.snapshot();
+        EmployeeSnapshotFile.write(snapshotPath, employees);
+        Files.deleteIfExists(journalPath);
+        log.info(
+                "Wrote snapshot of {} employees to {} in {} ms",
+                employees.size(),
+                snapshotPath,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+}
@@ -0,0 +1,249 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of creates and deletes since the last snapshot. Each entry is framed as
+ * {@code [length][type][payload][crc32c]}, so replay stops cleanly at a torn tail write.
+ *
+ * <p>With {@code sync} enabled an append returns only once its entry is on disk, using group commit: one appender
+ * runs {@code force} while the others wait, and that single {@code force} covers every entry written before it
+ * started. Throughput under concurrent writes therefore tracks the number of fsyncs the disk can do, not the number of
+ * appends.
+ */
+@Slf4j
+final class MutationJournal implements Closeable {
+
+    private static final byte CREATE = 1;
+    private static final byte DELETE = 2;
+
+    private final FileChannel channel;
+    private final boolean sync;
+
+    private final Object writeLock = new Object();
+    private volatile long writtenPosition;
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+    private long durablePosition;
+    private boolean syncing;
+
+    private MutationJournal(FileChannel channel, boolean sync) throws IOException {
+        this.channel = channel;
+        this.sync = sync;
+        this.writtenPosition = channel.size();
+        this.durablePosition = writtenPosition;
+    }
+
+    /**
+     * Opens {@code path} for appending, discarding any torn entry left at the end by a crash.
+     */
+    static MutationJournal open(Path path, boolean sync) throws IOException {
+        final var validLength = Files.exists(path) ? replay(path, NO_OP) : 0;
+        final var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+        return new MutationJournal(channel, sync);
+    }
+
+    /**
+     * Replays every intact entry in order.
+     *
+     * @return the length of the intact prefix of the journal
+     */
+    static long replay(Path path, Listener listener) throws IOException {
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Journal larger than 2 GiB is not supported: " + path);
+            }
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final var crc = new CRC32C();
+            var entries = 0;
+            while (buffer.remaining() >= Integer.BYTES) {
+                final var start = buffer.position();
+                final var length = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining() - Integer.BYTES) {
+                    return truncatedAt(path, start, entries);
+                }
+                final var entry = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                crc.reset();
+                crc.update(entry.duplicate());
+                if ((int) crc.getValue() != buffer.getInt()) {
+                    return truncatedAt(path, start, entries);
+                }
+                try {
+                    apply(entry, listener);
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    return truncatedAt(path, start, entries);
+                }
+                entries++;
+            }
+            if (buffer.hasRemaining()) {
+                return truncatedAt(path, buffer.position(), entries);
+            }
+            log.info("Replayed {} journal entries from {}", entries, path);
+            return buffer.position();
+        }
+    }
+
+    private static long truncatedAt(Path path, long position, int entries) {
+        log.warn(
+                "Journal {} has a damaged entry at offset {} after {} entries; ignoring the rest",
+                path,
+                position,
+                entries);
+        return position;
+    }
+
+    private static void apply(ByteBuffer entry, Listener listener) {
+        final var type = entry.get();
+        switch (type) {
+            case CREATE -> listener.created(EmployeeRecords.read(entry));
+            case DELETE -> listener.deleted(EmployeeRecords.readUuid(entry));
+            default -> throw new IllegalArgumentException("Unknown journal entry type " + type);
+        }
+    }
+
+    /**
+     * @return the journal length just past the appended entry
+     */
+    long appendCreate(MockEmployee employee) {
+        return append(CREATE, out -> EmployeeRecords.write(out, employee));
+    }
+
+    /**
+     * @return the journal length just past the appended entry
+     */
+    long appendDelete(UUID id) {
+        return append(DELETE, out -> EmployeeRecords.writeUuid(out, id));
+    }
+
+    private long append(byte type, Payload payload) {
+        final ByteBuffer frame;
+        try {
+            frame = frame(type, payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final long end;
+        synchronized (writeLock) {
+            try {
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+                end = channel.position();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to append to journal", e);
+            }
+            writtenPosition = end;
+        }
+        if (sync) {
+            awaitDurable(end);
+        }
+        return end;
+    }
+
+    private static ByteBuffer frame(byte type, Payload payload) throws IOException {
+        final var bytes = new ByteArrayOutputStream(128);
+        final var out = new DataOutputStream(bytes);
+        out.writeInt(0); // length placeholder
+        out.writeByte(type);
+        payload.writeTo(out);
+        out.writeInt(0); // crc placeholder
+        final var frame = ByteBuffer.wrap(bytes.toByteArray());
+        final var length = frame.capacity() - 2 * Integer.BYTES;
+        frame.putInt(0, length);
+        final var crc = new CRC32C();
+        crc.update(frame.slice(Integer.BYTES, length));
+        frame.putInt(Integer.BYTES + length, (int) crc.getValue());
+        return frame;
+    }
+
+    private void awaitDurable(long end) {
+        syncLock.lock();
+        try {
+            while (durablePosition < end) {
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                syncing = true;
+                final var target = writtenPosition;
+                var forced = false;
+                syncLock.unlock();
+                try {
+                    channel.force(false);
+                    forced = true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to sync journal", e);
+                } finally {
+                    syncLock.lock();
+                    syncing = false;
+                    if (forced) {
+                        durablePosition = Math.max(durablePosition, target);
+                    }
+                    synced.signalAll();
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * @return the length of the journal known to be on disk; only advanced by appends when {@code sync} is enabled
+     */
+    long durableLength() {
+        syncLock.lock();
+        try {
+            return durablePosition;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    interface Listener {
+
+        void created(MockEmployee employee);
+
+        void deleted(UUID id);
+    }
+
+    private static final Listener NO_OP = new Listener() {
+        @Override
+        public void created(MockEmployee employee) {}
+
+        @Override
+        public void deleted(UUID id) {}
+    };
+
+    @FunctionalInterface
+    private interface Payload {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChangeFeed;
+import java.util.ArrayList;
+import java.util.UUID;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded log of the most recent creates and deletes, each stamped with a monotonically increasing sequence number.
+ * Older entries are overwritten once {@code capacity} is reached; a client asking for changes from before that gets a
+ * resync signal instead of a partial feed.
+ *
+ * <p>Sequences start at the startup time in milliseconds shifted left by ten bits rather than at zero. A client
+ * holding a sequence from a previous run of the server therefore lands below the retained range and is told to
+ * resync, instead of silently matching unrelated changes of the new run.
+ */
+@Component
+public class MockEmployeeChangeLog {
+
+    private final MockEmployeeChange[] ring;
+    private final long origin;
+    private long latest;
+    private volatile long latestSequence;
+
+    public MockEmployeeChangeLog(@Value("${mock.changes.capacity:10000}") int capacity) {
+        this(capacity, System.currentTimeMillis());
+    }
+
+    MockEmployeeChangeLog(int capacity, long startedAtMillis) {
+        this.ring = new MockEmployeeChange[capacity];
+        this.origin = startedAtMillis << 10;
+        this.latest = origin;
+        this.latestSequence = origin;
+    }
+
+    public synchronized void recordCreate(@NonNull MockEmployee employee) {
+        append(MockEmployeeChange.created(latest + 1, employee));
+    }
+
+    public synchronized void recordDelete(@NonNull UUID id) {
+        append(MockEmployeeChange.deleted(latest + 1, id));
+    }
+
+    private void append(MockEmployeeChange change) {
+        latest = change.sequence();
+        ring[(int) (latest % ring.length)] = change;
+        latestSequence = latest;
+    }
+
+    /**
+     * Sequence of the most recent change. Read before listing employees, the listing then includes every change up to
+     * this sequence (and possibly some later ones, which are safe to apply twice).
+     */
+    public long latestSequence() {
+        return latestSequence;
+    }
+
+    public synchronized MockEmployeeChangeFeed since(long sequence) {
+        final var oldestRetained = Math.max(origin + 1, latest - ring.length + 1);
+        if (sequence > latest || sequence < oldestRetained - 1) {
+            return MockEmployeeChangeFeed.resync(latest);
+        }
+        final var changes = new ArrayList<MockEmployeeChange>((int) (latest - sequence));
+        for (var next = sequence + 1; next <= latest; next++) {
+            changes.add(ring[(int) (next % ring.length)]);
+        }
+        return new MockEmployeeChangeFeed(latest, false, changes);
+    }
+}
@@ -4,11 +4,12 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChangeFeed;
+import com.reliaquest.server.persistence.MockEmployeePersistence;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.function.Supplier;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,14 +23,37 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final Optional<MockEmployeePersistence> persistence;
+
+    private final MockEmployeeChangeLog changeLog;
+
+    // Pairs each store mutation with its change log entry, so the log order matches the order the store saw.
+    private final Object mutationLock = new Object();
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    public Iterable<MockEmployee> streamMockEmployees() {
+        return mockEmployeeStore;
+    }
+
+    public MockEmployeeStore.Page getMockEmployeesPage(long afterSequence, int limit) {
+        return mockEmployeeStore.page(afterSequence, limit);
+    }
+
+    public long getLatestChangeSequence() {
+        return changeLog.latestSequence();
+    }
+
+    public MockEmployeeChangeFeed getChangesSince(long sequence) {
+        return changeLog.since(sequence);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +61,35 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
-        log.debug("Added employee: {}", mockEmployee);
-        return mockEmployee;
+        return mutate(() -> {
+            persistence.ifPresent(journal -> journal.recordCreate(mockEmployee));
+            synchronized (mutationLock) {
+                mockEmployeeStore.add(mockEmployee);
+                changeLog.recordCreate(mockEmployee);
+            }
+            log.debug("Added employee: {}", mockEmployee);
+            return mockEmployee;
+        });
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
-        }
-
-        return false;
+        return mutate(() -> {
+            final Optional<MockEmployee> mockEmployee;
+            synchronized (mutationLock) {
+                mockEmployee = mockEmployeeStore.removeByName(input.getName());
+                mockEmployee.ifPresent(employee -> changeLog.recordDelete(employee.getId()));
+            }
+            mockEmployee.ifPresent(employee ->
+                    persistence.ifPresent(journal -> journal.recordDelete(employee.getId())));
+            mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+            return mockEmployee.isPresent();
+        });
+    }
+
+    /*
+     * Journals and applies a change inside the persistence's gate, so shutdown's checkpoint cannot miss it.
+     */
+    private <T> T mutate(Supplier<T> mutation) {
+        return persistence.isPresent() ? persistence.get().whileOpen(mutation) : mutation.get();
     }
 }
@@ -0,0 +1,181 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+
+/**
+ * Thread-safe employee store keyed by id, with insertion order and a case-insensitive name index kept alongside.
+ * Lookups by id or name are O(1); listing copies a weakly consistent view, so readers never block writers.
+ * Removing the id entry is the point at which a delete takes effect, so concurrent deletes of one employee agree on
+ * a single winner.
+ */
+public class MockEmployeeStore implements Iterable<MockEmployee> {
+
+    private static final long[] NO_SEQUENCES = new long[0];
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<UUID, Entry> byId;
+    private final ConcurrentNavigableMap<Long, Entry> bySequence = new ConcurrentSkipListMap<>();
+    // Folded name to the ascending sequences of employees with that name, replaced copy-on-write inside compute.
+    // Nearly every name belongs to a single employee, so a one-element array beats a map per name.
+    private final Map<String, long[]> byName;
+
+    public MockEmployeeStore() {
+        this(16);
+    }
+
+    public MockEmployeeStore(int expectedSize) {
+        this.byId = new ConcurrentHashMap<>(expectedSize);
+        this.byName = new ConcurrentHashMap<>(expectedSize);
+    }
+
+    /**
+     * Builds a store holding {@code employees} in list order. The indexes are filled in parallel; insertion order is
+     * still the list order because sequences are assigned from list positions up front.
+     */
+    public static MockEmployeeStore of(@NonNull List<MockEmployee> employees) {
+        final var store = new MockEmployeeStore(employees.size());
+        IntStream.range(0, employees.size()).parallel().forEach(i -> store.insert(i + 1, employees.get(i)));
+        store.sequence.set(employees.size());
+        return store;
+    }
+
+    public void add(@NonNull MockEmployee mockEmployee) {
+        insert(sequence.incrementAndGet(), mockEmployee);
+    }
+
+    private void insert(long sequence, MockEmployee mockEmployee) {
+        final var entry = new Entry(sequence, mockEmployee);
+        if (byId.putIfAbsent(mockEmployee.getId(), entry) != null) {
+            throw new IllegalArgumentException("Duplicate employee id: " + mockEmployee.getId());
+        }
+        bySequence.put(entry.sequence(), entry);
+        if (mockEmployee.getName() != null) {
+            byName.compute(
+                    fold(mockEmployee.getName()),
+                    (name, sequences) -> withSequence(sequences == null ? NO_SEQUENCES : sequences, entry.sequence()));
+        }
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return Optional.ofNullable(byId.get(uuid)).map(Entry::employee);
+    }
+
+    /**
+     * Removes the earliest added employee whose name matches {@code name}, ignoring case.
+     */
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        final var sequences = byName.get(fold(name));
+        if (sequences == null) {
+            return Optional.empty();
+        }
+        for (final var candidate : sequences) {
+            final var entry = bySequence.get(candidate);
+            if (entry != null && byId.remove(entry.employee().getId(), entry)) {
+                unindex(entry);
+                return Optional.of(entry.employee());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<MockEmployee> removeById(@NonNull UUID uuid) {
+        final var entry = byId.remove(uuid);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        unindex(entry);
+        return Optional.of(entry.employee());
+    }
+
+    private void unindex(Entry entry) {
+        bySequence.remove(entry.sequence());
+        if (entry.employee().getName() != null) {
+            byName.computeIfPresent(fold(entry.employee().getName()), (ignored, sequences) -> {
+                final var updated = withoutSequence(sequences, entry.sequence());
+                return updated.length == 0 ? null : updated;
+            });
+        }
+    }
+
+    private static long[] withSequence(long[] sequences, long sequence) {
+        final var position = -Arrays.binarySearch(sequences, sequence) - 1;
+        final var updated = new long[sequences.length + 1];
+        System.arraycopy(sequences, 0, updated, 0, position);
+        updated[position] = sequence;
+        System.arraycopy(sequences, position, updated, position + 1, sequences.length - position);
+        return updated;
+    }
+
+    private static long[] withoutSequence(long[] sequences, long sequence) {
+        final var position = Arrays.binarySearch(sequences, sequence);
+        if (position < 0) {
+            return sequences;
+        }
+        final var updated = new long[sequences.length - 1];
+        System.arraycopy(sequences, 0, updated, 0, position);
+        System.arraycopy(sequences, position + 1, updated, position, updated.length - position);
+        return updated;
+    }
+
+    /**
+     * @return the employees in insertion order as of roughly now; later changes are not reflected
+     */
+    public List<MockEmployee> snapshot() {
+        return bySequence.values().stream().map(Entry::employee).toList();
+    }
+
+    /**
+     * Iterates the live store in insertion order without copying it. Weakly consistent: employees added or removed
+     * during iteration may or may not be seen.
+     */
+    @Override
+    public Iterator<MockEmployee> iterator() {
+        return bySequence.values().stream().map(Entry::employee).iterator();
+    }
+
+    /**
+     * Keyset page of up to {@code limit} employees added after the one at {@code afterSequence} (use {@code 0} for the
+     * first page). Ordering is by insertion, so deletes and appends between pages neither skip nor repeat employees.
+     */
+    public Page page(long afterSequence, int limit) {
+        final var items = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        var lastSequence = afterSequence;
+        for (final var entry : bySequence.tailMap(afterSequence, false).entrySet()) {
+            if (items.size() == limit) {
+                return new Page(items, lastSequence);
+            }
+            items.add(entry.getValue().employee());
+            lastSequence = entry.getKey();
+        }
+        return new Page(items, null);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param nextSequence where the following page starts, or {@code null} when this is the last page
+     */
+    public record Page(List<MockEmployee> items, Long nextSequence) {}
+
+    private record Entry(long sequence, MockEmployee employee) {}
+}
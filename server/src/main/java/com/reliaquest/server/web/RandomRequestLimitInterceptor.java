@@ -1,48 +1,179 @@
 package com.reliaquest.server.web;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 import java.util.random.RandomGenerator;
-import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/*
+ * Sliding-window limiter keyed by client: each client may make requestLimit requests within any window of the
+ * configured length; by default both are drawn at random on startup. A client is the X-Client-Id header when sent,
+ * otherwise the remote address. Every response carries X-RateLimit-Limit, X-RateLimit-Remaining and
+ * X-RateLimit-Reset (time until the oldest request in the window expires); rejections also carry Retry-After. Times
+ * are whole seconds, rounded up.
+ */
+@Slf4j
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
-    private static final Duration REQUEST_BACKOFF_DURATION =
-            Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
 
-    private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
+    // Idle clients are only swept once this many are tracked, and then at most once per window, so neither the
+    // common case nor a flood of distinct client ids walks the map on every request.
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final int requestLimit;
+    private final long windowNanos;
+    private final LongSupplier nanoTime;
+    private final Map<String, AtomicReference<Window>> clients = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    public RandomRequestLimitInterceptor() {
+        this(
+                RandomGenerator.getDefault().nextInt(5, 10),
+                Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90)),
+                System::nanoTime);
+    }
+
+    public RandomRequestLimitInterceptor(int requestLimit, Duration window, LongSupplier nanoTime) {
+        this.requestLimit = requestLimit;
+        this.windowNanos = window.toNanos();
+        this.nanoTime = nanoTime;
+        this.lastSweep = new AtomicLong(nanoTime.getAsLong());
+        log.debug("Limiting each client to {} requests per {}", requestLimit, window);
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                return false;
+        // Streaming responses complete with an async re-dispatch of the same request; count it only once.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        final var now = nanoTime.getAsLong();
+        final var decision = admit(clientOf(request), now);
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(requestLimit));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(toSeconds(decision.resetNanos())));
+        if (!decision.admitted()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(decision.resetNanos())));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return false;
+        }
+        return true;
+    }
+
+    /*
+     * Lock-free: the client's window is an immutable value swapped in with compare-and-set, retried on contention.
+     * A rejected request leaves the window untouched, so hammering does not extend the wait.
+     */
+    private Decision admit(String client, long now) {
+        if (clients.size() > SWEEP_THRESHOLD) {
+            sweepIdleClients(now);
+        }
+        var window = clients.computeIfAbsent(client, key -> new AtomicReference<>(Window.EMPTY));
+        while (true) {
+            final var current = window.get();
+            if (current == Window.RETIRED) {
+                // Swept while we held it; counting against it would lose the request, so use the client's new window.
+                clients.remove(client, window);
+                window = clients.computeIfAbsent(client, key -> new AtomicReference<>(Window.EMPTY));
+                continue;
+            }
+            final var live = current.expire(now - windowNanos);
+            if (live.size() >= requestLimit) {
+                if (live != current) {
+                    window.compareAndSet(current, live);
+                }
+                return new Decision(false, 0, live.oldest() + windowNanos - now);
             }
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
+            final var next = live.append(now);
+            if (window.compareAndSet(current, next)) {
+                return new Decision(true, requestLimit - next.size(), next.oldest() + windowNanos - now);
             }
-        } else {
-            requestLimit.getAndUpdate(
-                    currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
         }
+    }
 
-        return true;
+    /*
+     * Runs on at most one request per window. Each idle window is retired and removed in one step under the map's lock
+     * for its key, so a request that already holds it either got its admission in first, keeping it, or sees it
+     * retired and retries.
+     */
+    private void sweepIdleClients(long now) {
+        final var last = lastSweep.get();
+        if (now - last < windowNanos || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        final var cutoff = now - windowNanos;
+        for (final var client : clients.keySet()) {
+            clients.computeIfPresent(client, (key, window) -> {
+                final var current = window.get();
+                return current.expire(cutoff).size() == 0 && window.compareAndSet(current, Window.RETIRED)
+                        ? null
+                        : window;
+            });
+        }
     }
 
-    private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
-        public static RequestLimit init() {
-            return new RequestLimit(0, Instant.now());
+    int trackedClients() {
+        return clients.size();
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        final var clientId = request.getHeader(CLIENT_ID_HEADER);
+        return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /*
+     * Admission times inside the current window, oldest first. At most requestLimit entries, so copying on write is
+     * cheap.
+     */
+    private record Window(long[] admittedAt) {
+
+        static final Window EMPTY = new Window(new long[0]);
+        // Marks a window the sweep has removed from the map.
+        static final Window RETIRED = new Window(new long[0]);
+
+        int size() {
+            return admittedAt.length;
+        }
+
+        long oldest() {
+            return admittedAt[0];
+        }
+
+        Window expire(long cutoff) {
+            var first = 0;
+            while (first < admittedAt.length && admittedAt[first] - cutoff <= 0) {
+                first++;
+            }
+            return first == 0 ? this : new Window(Arrays.copyOfRange(admittedAt, first, admittedAt.length));
+        }
+
+        Window append(long now) {
+            final var next = Arrays.copyOf(admittedAt, admittedAt.length + 1);
+            next[admittedAt.length] = now;
+            return new Window(next);
         }
     }
+
+    private record Decision(boolean admitted, int remaining, long resetNanos) {}
 }
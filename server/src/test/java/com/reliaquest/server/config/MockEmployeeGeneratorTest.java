@@ -0,0 +1,49 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    // Spans several chunks, the last one partial.
+    private static final int COUNT = MockEmployeeGenerator.CHUNK_SIZE * 2 + 1_234;
+
+    @Test
+    void testSameSeedGivesSameDatasetOnAnyPoolSize() throws Exception {
+        final var generator = new MockEmployeeGenerator(Locale.US, 42L);
+
+        final var sequential = generateOnPool(generator, 1);
+        final var parallel = generateOnPool(generator, 4);
+
+        assertEquals(COUNT, sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals(sequential, new MockEmployeeGenerator(Locale.US, 42L).generate(COUNT));
+    }
+
+    @Test
+    void testDifferentSeedsGiveDifferentDatasets() {
+        final var first = new MockEmployeeGenerator(Locale.US, 1L).generate(100);
+        final var second = new MockEmployeeGenerator(Locale.US, 2L).generate(100);
+
+        assertNotEquals(first, second);
+    }
+
+    /*
+     * A parallel stream started from inside a fork-join pool runs on that pool rather than on the common one.
+     */
+    private static List<MockEmployee> generateOnPool(MockEmployeeGenerator generator, int parallelism)
+            throws Exception {
+        final var pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> generator.generate(COUNT)).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
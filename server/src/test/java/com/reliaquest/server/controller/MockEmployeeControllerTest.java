@@ -0,0 +1,118 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class MockEmployeeControllerTest {
+
+    private List<MockEmployee> employees;
+    private MockEmployeeService service;
+    private MockEmployeeController controller;
+
+    private void givenEmployees(int count) {
+        employees = IntStream.range(0, count)
+                .mapToObj(i -> MockEmployee.builder()
+                        .id(UUID.randomUUID())
+                        .name("Employee " + i)
+                        .salary(50_000 + i)
+                        .age(30)
+                        .title("Engineer")
+                        .build())
+                .toList();
+        service = new MockEmployeeService(
+                null, MockEmployeeStore.of(employees), Optional.empty(), new MockEmployeeChangeLog(100));
+        controller = new MockEmployeeController(service, new ObjectMapper());
+    }
+
+    @Test
+    void testWithoutLimitOrCursorReturnsEverything() {
+        givenEmployees(1_500);
+
+        final var response = controller.getEmployees(null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(employees, response.getBody().data());
+        assertNull(response.getBody().nextCursor());
+    }
+
+    @Test
+    void testLimitIsCappedAtMaxPageSize() {
+        givenEmployees(1_500);
+
+        final var first = controller.getEmployees(5_000, null);
+        final var second = controller.getEmployees(5_000, first.getBody().nextCursor());
+
+        assertEquals(employees.subList(0, 1_000), first.getBody().data());
+        assertEquals(employees.subList(1_000, 1_500), second.getBody().data());
+        assertNull(second.getBody().nextCursor());
+    }
+
+    @Test
+    void testCursorOnlyDefaultsToMaxPageSize() {
+        givenEmployees(1_500);
+
+        final var page = controller.getEmployees(null, "0");
+
+        assertEquals(employees.subList(0, 1_000), page.getBody().data());
+    }
+
+    @Test
+    void testCursorAfterDeletes() {
+        givenEmployees(10);
+        final var seen = new ArrayList<MockEmployee>();
+
+        final var first = controller.getEmployees(3, null);
+        seen.addAll(first.getBody().data());
+        delete(employees.get(2));
+        delete(employees.get(3));
+        delete(employees.get(9));
+        var cursor = first.getBody().nextCursor();
+        while (cursor != null) {
+            final var page = controller.getEmployees(3, cursor);
+            seen.addAll(page.getBody().data());
+            cursor = page.getBody().nextCursor();
+        }
+
+        final var expected = new ArrayList<>(employees.subList(0, 9));
+        expected.remove(3);
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void testRejectsNonPositiveLimit() {
+        givenEmployees(3);
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getEmployees(0, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getEmployees(-1, "0").getStatusCode());
+    }
+
+    @Test
+    void testRejectsInvalidCursor() {
+        givenEmployees(3);
+
+        final var response = controller.getEmployees(2, "not-a-cursor");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid cursor", response.getBody().error());
+    }
+
+    private void delete(MockEmployee employee) {
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(employee.getName());
+        service.delete(input);
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.server.persistence;
+
+import static com.reliaquest.server.persistence.MutationJournalTest.employee;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripKeepsOrderAndNulls() throws IOException {
+        final var path = directory.resolve("snapshot");
+        final var employees = List.of(
+                employee("Shubham Patil"),
+                employee("Zoë Ångström"),
+                new MockEmployee(UUID.randomUUID(), null, null, null, null, null));
+
+        EmployeeSnapshotFile.write(path, employees);
+        final var read = new ArrayList<MockEmployee>();
+        final var count = EmployeeSnapshotFile.read(path, read::add);
+
+        assertEquals(3, count);
+        assertEquals(employees, read);
+        assertFalse(Files.exists(path.resolveSibling("snapshot.tmp")));
+    }
+
+    @Test
+    void testWriteReplacesPreviousSnapshot() throws IOException {
+        final var path = directory.resolve("snapshot");
+        EmployeeSnapshotFile.write(path, List.of(employee("Shubham Patil"), employee("Jane Doe")));
+        final var replacement = List.of(employee("John Doe"));
+
+        EmployeeSnapshotFile.write(path, replacement);
+        final var read = new ArrayList<MockEmployee>();
+        EmployeeSnapshotFile.read(path, read::add);
+
+        assertEquals(replacement, read);
+    }
+
+    @Test
+    void testRejectsFileWithoutHeader() throws IOException {
+        final var path = directory.resolve("snapshot");
+        Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        assertThrows(IOException.class, () -> EmployeeSnapshotFile.read(path, employee -> {}));
+    }
+
+    @Test
+    void testRejectsTruncatedSnapshot() throws IOException {
+        final var path = directory.resolve("snapshot");
+        EmployeeSnapshotFile.write(path, List.of(employee("Shubham Patil"), employee("Jane Doe")));
+        try (final var file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(Files.size(path) - 5);
+        }
+
+        assertThrows(IOException.class, () -> EmployeeSnapshotFile.read(path, employee -> {}));
+    }
+}
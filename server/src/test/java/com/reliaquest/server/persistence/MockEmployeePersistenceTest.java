@@ -0,0 +1,205 @@
+package com.reliaquest.server.persistence;
+
+import static com.reliaquest.server.persistence.MutationJournalTest.employee;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeePersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testNothingToLoadInitially() throws IOException {
+        assertTrue(new MockEmployeePersistence(directory, false).load().isEmpty());
+    }
+
+    @Test
+    void testCloseCheckpointsAndRemovesJournal() throws IOException {
+        final var store = MockEmployeeStore.of(List.of(employee("Shubham Patil")));
+        final var created = employee("Jane Doe");
+        try (final var persistence = new MockEmployeePersistence(directory, false)) {
+            persistence.attach(store);
+            mutate(persistence, store, created, null);
+        }
+
+        assertFalse(Files.exists(journal()));
+        assertEquals(store.snapshot(), reload().snapshot());
+    }
+
+    @Test
+    void testReloadReplaysJournalAfterCrash() throws IOException {
+        final var original = employee("Shubham Patil");
+        final var store = MockEmployeeStore.of(List.of(original, employee("Jane Doe")));
+        final var persistence = new MockEmployeePersistence(directory, true);
+        persistence.attach(store);
+
+        mutate(persistence, store, employee("John Doe"), original);
+        // No close: the process dies with the mutations only in the journal.
+
+        assertTrue(Files.size(journal()) > 0);
+        assertEquals(store.snapshot(), reload().snapshot());
+    }
+
+    @Test
+    void testCrashBetweenCheckpointAndJournalDeleteReplaysHarmlessly() throws IOException {
+        final var original = employee("Shubham Patil");
+        final var store = MockEmployeeStore.of(List.of(original, employee("Jane Doe")));
+        final var persistence = new MockEmployeePersistence(directory, true);
+        persistence.attach(store);
+        mutate(persistence, store, employee("John Doe"), original);
+
+        // The checkpoint's snapshot write lands but the journal it covers is not deleted.
+        EmployeeSnapshotFile.write(snapshot(), store.snapshot());
+
+        final var reloaded = reload();
+        assertEquals(store.snapshot(), reloaded.snapshot());
+        // Loading again (a second crash before the next checkpoint) is just as idempotent.
+        assertEquals(store.snapshot(), reload().snapshot());
+    }
+
+    @Test
+    void testTornJournalTailLosesOnlyTheLastMutation() throws IOException {
+        final var original = employee("Shubham Patil");
+        final var store = MockEmployeeStore.of(List.of(original));
+        final var persistence = new MockEmployeePersistence(directory, true);
+        persistence.attach(store);
+        final var kept = employee("Jane Doe");
+        mutate(persistence, store, kept, null);
+        mutate(persistence, store, employee("John Doe"), null);
+        try (final var file = new RandomAccessFile(journal().toFile(), "rw")) {
+            file.setLength(Files.size(journal()) - 1);
+        }
+
+        assertEquals(List.of(original, kept), reload().snapshot());
+    }
+
+    @Test
+    void testCorruptSnapshotFailsLoad() throws IOException {
+        final var store = MockEmployeeStore.of(List.of(employee("Shubham Patil")));
+        try (final var persistence = new MockEmployeePersistence(directory, false)) {
+            persistence.attach(store);
+        }
+        try (final var file = new RandomAccessFile(snapshot().toFile(), "rw")) {
+            file.writeInt(0);
+        }
+
+        assertThrows(IOException.class, () -> new MockEmployeePersistence(directory, false).load());
+    }
+
+    @Test
+    void testReloadedStoreIsJournalledAgain() throws IOException {
+        final var store = MockEmployeeStore.of(List.of(employee("Shubham Patil")));
+        new MockEmployeePersistence(directory, true).attach(store);
+
+        final var persistence = new MockEmployeePersistence(directory, true);
+        final var reloaded = persistence.load().orElseThrow();
+        persistence.attach(reloaded);
+        mutate(persistence, reloaded, employee("Jane Doe"), null);
+
+        assertEquals(reloaded.snapshot(), reload().snapshot());
+    }
+
+    @Test
+    void testCloseWaitsForInFlightMutation() throws Exception {
+        final var store = MockEmployeeStore.of(List.of(employee("Shubham Patil")));
+        final var created = employee("Jane Doe");
+        final var persistence = new MockEmployeePersistence(directory, false);
+        persistence.attach(store);
+        final var journalled = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(2);
+        try {
+            final var mutation = executor.submit(() -> persistence.whileOpen(() -> {
+                persistence.recordCreate(created);
+                journalled.countDown();
+                awaitQuietly(release);
+                store.add(created);
+                return null;
+            }));
+            journalled.await();
+            final var closing = executor.submit(() -> {
+                persistence.close();
+                return null;
+            });
+
+            // The create is journalled but not yet in the store; checkpointing now would drop it.
+            Thread.sleep(200);
+            assertFalse(closing.isDone());
+            release.countDown();
+            mutation.get(5, TimeUnit.SECONDS);
+            closing.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertFalse(Files.exists(journal()));
+        assertTrue(reload().findById(created.getId()).isPresent());
+    }
+
+    @Test
+    void testMutationsAfterCloseAreRejected() throws IOException {
+        final var store = MockEmployeeStore.of(List.of(employee("Shubham Patil")));
+        final var persistence = new MockEmployeePersistence(directory, false);
+        persistence.attach(store);
+        persistence.close();
+
+        final var created = employee("Jane Doe");
+        assertThrows(RejectedExecutionException.class, () -> mutate(persistence, store, created, null));
+        assertTrue(store.findById(created.getId()).isEmpty());
+        assertEquals(store.snapshot(), reload().snapshot());
+    }
+
+    /*
+     * Applies a create and optionally a delete the way the service does: journal first, then the store, both inside
+     * the persistence's gate.
+     */
+    private static void mutate(
+            MockEmployeePersistence persistence, MockEmployeeStore store, MockEmployee created, MockEmployee deleted) {
+        persistence.whileOpen(() -> {
+            persistence.recordCreate(created);
+            store.add(created);
+            if (deleted != null) {
+                store.removeById(deleted.getId());
+                persistence.recordDelete(deleted.getId());
+            }
+            return null;
+        });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MockEmployeeStore reload() throws IOException {
+        return new MockEmployeePersistence(directory, false).load().orElseThrow();
+    }
+
+    private Path snapshot() {
+        return directory.resolve(MockEmployeePersistence.SNAPSHOT_FILE);
+    }
+
+    private Path journal() {
+        return directory.resolve(MockEmployeePersistence.JOURNAL_FILE);
+    }
+}
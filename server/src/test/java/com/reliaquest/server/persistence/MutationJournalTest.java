@@ -0,0 +1,187 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MutationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReplaysEntriesInOrder() throws IOException {
+        final var path = directory.resolve("journal");
+        final var first = employee("Shubham Patil");
+        final var second = employee(null);
+        final long end;
+        try (final var journal = MutationJournal.open(path, false)) {
+            journal.appendCreate(first);
+            journal.appendDelete(first.getId());
+            end = journal.appendCreate(second);
+        }
+
+        final var replayed = new ArrayList<Object>();
+        final var length = MutationJournal.replay(path, recorder(replayed));
+
+        assertEquals(List.of(first, first.getId(), second), replayed);
+        assertEquals(end, length);
+        assertEquals(Files.size(path), length);
+    }
+
+    @Test
+    void testTornTailIsIgnoredAndTruncatedOnOpen() throws IOException {
+        final var path = directory.resolve("journal");
+        final var first = employee("Shubham Patil");
+        final long firstEnd;
+        try (final var journal = MutationJournal.open(path, false)) {
+            firstEnd = journal.appendCreate(first);
+            journal.appendCreate(employee("Jane Doe"));
+        }
+        // A crash part way through writing the second entry.
+        try (final var file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(Files.size(path) - 3);
+        }
+
+        final var replayed = new ArrayList<Object>();
+        assertEquals(firstEnd, MutationJournal.replay(path, recorder(replayed)));
+        assertEquals(List.of(first), replayed);
+
+        final var third = employee("John Doe");
+        try (final var journal = MutationJournal.open(path, false)) {
+            assertEquals(firstEnd, Files.size(path));
+            journal.appendCreate(third);
+        }
+        replayed.clear();
+        MutationJournal.replay(path, recorder(replayed));
+        assertEquals(List.of(first, third), replayed);
+    }
+
+    @Test
+    void testChecksumMismatchStopsReplay() throws IOException {
+        final var path = directory.resolve("journal");
+        final var first = employee("Shubham Patil");
+        final long firstEnd;
+        try (final var journal = MutationJournal.open(path, false)) {
+            firstEnd = journal.appendCreate(first);
+            journal.appendCreate(employee("Jane Doe"));
+            journal.appendCreate(employee("John Doe"));
+        }
+        // Flip one bit inside the second entry's payload, leaving its length intact.
+        try (final var file = new RandomAccessFile(path.toFile(), "rw")) {
+            final var position = firstEnd + Integer.BYTES + 1 + 20;
+            file.seek(position);
+            final var value = file.read();
+            file.seek(position);
+            file.write(value ^ 0x01);
+        }
+
+        final var replayed = new ArrayList<Object>();
+        assertEquals(firstEnd, MutationJournal.replay(path, recorder(replayed)));
+        assertEquals(List.of(first), replayed);
+    }
+
+    @Test
+    void testEntryWithImpossibleLengthStopsReplay() throws IOException {
+        final var path = directory.resolve("journal");
+        final var first = employee("Shubham Patil");
+        final long firstEnd;
+        try (final var journal = MutationJournal.open(path, false)) {
+            firstEnd = journal.appendCreate(first);
+        }
+        try (final var file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(firstEnd);
+            file.writeInt(Integer.MAX_VALUE);
+            file.writeInt(0);
+        }
+
+        final var replayed = new ArrayList<Object>();
+        assertEquals(firstEnd, MutationJournal.replay(path, recorder(replayed)));
+        assertEquals(List.of(first), replayed);
+    }
+
+    @Test
+    void testConcurrentSyncedAppendsAreDurableOnReturnAndKeepPerThreadOrder() throws Exception {
+        final var path = directory.resolve("journal");
+        final var threads = 8;
+        final var perThread = 50;
+        final var executor = Executors.newFixedThreadPool(threads);
+        try (final var journal = MutationJournal.open(path, true)) {
+            final var start = new CountDownLatch(1);
+            final var futures = new ArrayList<Future<?>>();
+            for (var t = 0; t < threads; t++) {
+                final var thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    var previousEnd = 0L;
+                    for (var i = 0; i < perThread; i++) {
+                        final var end = journal.appendCreate(employee(thread + ":" + i));
+                        // Group commit: by the time an append returns, a force covering it has completed.
+                        assertTrue(journal.durableLength() >= end);
+                        assertTrue(end > previousEnd);
+                        previousEnd = end;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var future : futures) {
+                future.get();
+            }
+            assertEquals(Files.size(path), journal.durableLength());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var replayed = new ArrayList<Object>();
+        MutationJournal.replay(path, recorder(replayed));
+        assertEquals(threads * perThread, replayed.size());
+        final Map<String, Integer> nextPerThread = new HashMap<>();
+        for (final var entry : replayed) {
+            final var name = ((MockEmployee) entry).getName().split(":");
+            final int expected = nextPerThread.getOrDefault(name[0], 0);
+            assertEquals(expected, Integer.parseInt(name[1]));
+            nextPerThread.put(name[0], expected + 1);
+        }
+    }
+
+    static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(name == null ? null : 50_000)
+                .age(30)
+                .title("Engineer")
+                .email("employee@company.com")
+                .build();
+    }
+
+    private static MutationJournal.Listener recorder(List<Object> replayed) {
+        return new MutationJournal.Listener() {
+            @Override
+            public void created(MockEmployee employee) {
+                replayed.add(employee);
+            }
+
+            @Override
+            public void deleted(UUID id) {
+                replayed.add(id);
+            }
+        };
+    }
+}
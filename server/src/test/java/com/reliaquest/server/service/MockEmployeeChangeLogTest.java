@@ -0,0 +1,78 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.service.MockEmployeeStoreTest.employee;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeChangeLogTest {
+
+    private static final long STARTED_AT = 1_700_000_000_000L;
+
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(4, STARTED_AT);
+
+    @Test
+    void testSinceReturnsChangesInOrder() {
+        final var start = changeLog.latestSequence();
+        final var created = employee("Shubham Patil");
+        changeLog.recordCreate(created);
+        changeLog.recordDelete(created.getId());
+
+        final var feed = changeLog.since(start);
+
+        assertFalse(feed.resyncRequired());
+        assertEquals(start + 2, feed.latestSequence());
+        assertEquals(
+                List.of(
+                        MockEmployeeChange.created(start + 1, created),
+                        MockEmployeeChange.deleted(start + 2, created.getId())),
+                feed.changes());
+        assertTrue(changeLog.since(start + 2).changes().isEmpty());
+        assertFalse(changeLog.since(start + 2).resyncRequired());
+    }
+
+    @Test
+    void testSequenceOlderThanRingTailRequiresResync() {
+        final var start = changeLog.latestSequence();
+        for (var i = 0; i < 6; i++) {
+            changeLog.recordCreate(employee("Employee " + i));
+        }
+
+        // Capacity 4 keeps start + 3 to start + 6, so start + 2 is the oldest point still fully covered.
+        final var oldest = changeLog.since(start + 2);
+        assertFalse(oldest.resyncRequired());
+        assertEquals(4, oldest.changes().size());
+        assertEquals(start + 3, oldest.changes().get(0).sequence());
+
+        final var evicted = changeLog.since(start + 1);
+        assertTrue(evicted.resyncRequired());
+        assertTrue(evicted.changes().isEmpty());
+        assertEquals(start + 6, evicted.latestSequence());
+        assertTrue(changeLog.since(start).resyncRequired());
+    }
+
+    @Test
+    void testSequenceFromAnotherOriginRequiresResync() {
+        final var previousRun = new MockEmployeeChangeLog(4, STARTED_AT - 60_000);
+        previousRun.recordCreate(employee("Shubham Patil"));
+        final var heldByClient = previousRun.latestSequence();
+        changeLog.recordCreate(employee("Jane Doe"));
+
+        assertTrue(changeLog.since(heldByClient).resyncRequired());
+        assertTrue(changeLog.since(0).resyncRequired());
+    }
+
+    @Test
+    void testSequenceAheadOfLogRequiresResync() {
+        changeLog.recordCreate(employee("Shubham Patil"));
+
+        final var feed = changeLog.since(changeLog.latestSequence() + 1);
+
+        assertTrue(feed.resyncRequired());
+        assertEquals(changeLog.latestSequence(), feed.latestSequence());
+    }
+}
@@ -0,0 +1,193 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    @Test
+    void testOfKeepsListOrder() {
+        final var employees = IntStream.range(0, 5_000)
+                .mapToObj(i -> employee("Employee " + i))
+                .toList();
+
+        final var store = MockEmployeeStore.of(employees);
+
+        assertEquals(employees, store.snapshot());
+        assertEquals(employees.get(4_321), store.findById(employees.get(4_321).getId()).orElseThrow());
+        assertEquals(5_000, store.size());
+    }
+
+    @Test
+    void testRejectsDuplicateId() {
+        final var store = new MockEmployeeStore();
+        final var employee = employee("Shubham Patil");
+        store.add(employee);
+
+        assertThrows(IllegalArgumentException.class, () -> store.add(employee.toBuilder().name("Jane Doe").build()));
+        assertEquals(List.of(employee), store.snapshot());
+    }
+
+    @Test
+    void testRemoveByNameIgnoresCaseAndTakesEarliest() {
+        final var first = employee("Jane Doe");
+        final var second = employee("JANE DOE");
+        final var other = employee("John Doe");
+        final var store = MockEmployeeStore.of(List.of(first, other, second));
+
+        assertEquals(Optional.of(first), store.removeByName("jane doe"));
+        assertEquals(Optional.of(second), store.removeByName("Jane Doe"));
+        assertTrue(store.removeByName("Jane Doe").isEmpty());
+        assertEquals(List.of(other), store.snapshot());
+    }
+
+    @Test
+    void testNameIndexFollowsRemoveById() {
+        final var first = employee("Jane Doe");
+        final var second = employee("Jane Doe");
+        final var store = MockEmployeeStore.of(List.of(first, second));
+
+        store.removeById(first.getId());
+
+        assertEquals(Optional.of(second), store.removeByName("Jane Doe"));
+        assertTrue(store.findById(first.getId()).isEmpty());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testConcurrentDeletesOfOneNameHaveOneWinnerEach() throws Exception {
+        final var employees = IntStream.range(0, 200)
+                .mapToObj(i -> employee("Shared Name"))
+                .toList();
+        final var store = MockEmployeeStore.of(employees);
+        final var threads = 8;
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var start = new CountDownLatch(1);
+            final var futures = new ArrayList<Future<List<MockEmployee>>>();
+            for (var t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    final var removed = new ArrayList<MockEmployee>();
+                    for (var removedOne = store.removeByName("shared name");
+                            removedOne.isPresent();
+                            removedOne = store.removeByName("shared name")) {
+                        removed.add(removedOne.get());
+                    }
+                    return removed;
+                }));
+            }
+            start.countDown();
+
+            final var removed = new ArrayList<MockEmployee>();
+            for (final var future : futures) {
+                removed.addAll(future.get());
+            }
+            assertEquals(employees.size(), removed.size());
+            assertEquals(employees.size(), removed.stream().distinct().count());
+            assertEquals(0, store.size());
+            assertTrue(store.snapshot().isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentAddsAndRemovesKeepIndexesConsistent() throws Exception {
+        final var store = new MockEmployeeStore();
+        final var threads = 8;
+        final var perThread = 2_000;
+        final var removed = new AtomicInteger();
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (var t = 0; t < threads; t++) {
+                final var thread = t;
+                futures.add(executor.submit(() -> {
+                    for (var i = 0; i < perThread; i++) {
+                        final var employee = employee("Worker " + thread + " " + i);
+                        store.add(employee);
+                        if (i % 2 == 0 && store.removeById(employee.getId()).isPresent()) {
+                            removed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (final var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread / 2, removed.get());
+        assertEquals(threads * perThread / 2, store.size());
+        assertEquals(store.size(), store.snapshot().size());
+        for (var t = 0; t < threads; t++) {
+            assertTrue(store.removeByName("worker " + t + " 0").isEmpty());
+            assertTrue(store.removeByName("WORKER " + t + " 1").isPresent());
+        }
+    }
+
+    @Test
+    void testPageCursorSurvivesDeletesAndAppends() {
+        final var employees = IntStream.range(0, 10)
+                .mapToObj(i -> employee("Employee " + i))
+                .toList();
+        final var store = MockEmployeeStore.of(employees);
+
+        final var first = store.page(0, 4);
+        assertEquals(employees.subList(0, 4), first.items());
+        assertEquals(4L, first.nextSequence());
+
+        // Deleting the employee the cursor points at, and one ahead of it, neither skips nor repeats anyone.
+        store.removeById(employees.get(3).getId());
+        store.removeById(employees.get(5).getId());
+        final var appended = employee("Employee 10");
+        store.add(appended);
+
+        final var second = store.page(first.nextSequence(), 4);
+        assertEquals(List.of(employees.get(4), employees.get(6), employees.get(7), employees.get(8)), second.items());
+        final var third = store.page(second.nextSequence(), 4);
+        assertEquals(List.of(employees.get(9), appended), third.items());
+        assertNull(third.nextSequence());
+    }
+
+    @Test
+    void testLastFullPageHasNoCursor() {
+        final var employees = IntStream.range(0, 4)
+                .mapToObj(i -> employee("Employee " + i))
+                .toList();
+        final var store = MockEmployeeStore.of(employees);
+
+        final var page = store.page(0, 4);
+
+        assertEquals(employees, page.items());
+        assertNull(page.nextSequence());
+    }
+
+    static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50_000)
+                .age(30)
+                .title("Engineer")
+                .email(name.replace(' ', '.').toLowerCase() + "@company.com")
+                .build();
+    }
+}
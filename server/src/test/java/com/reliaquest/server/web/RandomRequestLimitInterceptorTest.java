@@ -0,0 +1,210 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RandomRequestLimitInterceptorTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(30);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final RandomRequestLimitInterceptor interceptor =
+            new RandomRequestLimitInterceptor(3, WINDOW, clock::get);
+
+    @Test
+    void testAdmittedResponsesCarryLimitHeaders() {
+        final var first = send("client-a");
+        advance(Duration.ofMillis(10_500));
+        final var second = send("client-a");
+
+        assertEquals(HttpStatus.OK.value(), first.getStatus());
+        assertEquals("3", first.getHeader(RandomRequestLimitInterceptor.LIMIT_HEADER));
+        assertEquals("2", first.getHeader(RandomRequestLimitInterceptor.REMAINING_HEADER));
+        assertEquals("30", first.getHeader(RandomRequestLimitInterceptor.RESET_HEADER));
+        assertNull(first.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("1", second.getHeader(RandomRequestLimitInterceptor.REMAINING_HEADER));
+        // The window frees up when the oldest request expires: 19.5 seconds from now, rounded up.
+        assertEquals("20", second.getHeader(RandomRequestLimitInterceptor.RESET_HEADER));
+    }
+
+    @Test
+    void testRejectionCarriesRetryAfter() {
+        send("client-a");
+        advance(Duration.ofSeconds(5));
+        send("client-a");
+        send("client-a");
+        advance(Duration.ofSeconds(1));
+
+        final var rejected = send("client-a");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("3", rejected.getHeader(RandomRequestLimitInterceptor.LIMIT_HEADER));
+        assertEquals("0", rejected.getHeader(RandomRequestLimitInterceptor.REMAINING_HEADER));
+        assertEquals("24", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("24", rejected.getHeader(RandomRequestLimitInterceptor.RESET_HEADER));
+    }
+
+    @Test
+    void testWindowSlides() {
+        send("client-a");
+        advance(Duration.ofSeconds(10));
+        send("client-a");
+        send("client-a");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("client-a").getStatus());
+
+        // Just past the first request's window only that request has expired.
+        advance(Duration.ofSeconds(20).plusNanos(1));
+        final var admitted = send("client-a");
+        assertEquals(HttpStatus.OK.value(), admitted.getStatus());
+        assertEquals("0", admitted.getHeader(RandomRequestLimitInterceptor.REMAINING_HEADER));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("client-a").getStatus());
+
+        // Once the whole window has passed the client starts afresh.
+        advance(WINDOW);
+        assertEquals("2", send("client-a").getHeader(RandomRequestLimitInterceptor.REMAINING_HEADER));
+    }
+
+    @Test
+    void testRejectionsDoNotExtendTheWait() {
+        for (var i = 0; i < 3; i++) {
+            send("client-a");
+        }
+        for (var i = 0; i < 10; i++) {
+            advance(Duration.ofSeconds(1));
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("client-a").getStatus());
+        }
+
+        advance(Duration.ofSeconds(20));
+        assertEquals(HttpStatus.OK.value(), send("client-a").getStatus());
+    }
+
+    @Test
+    void testClientsAreLimitedSeparately() {
+        for (var i = 0; i < 3; i++) {
+            send("client-a");
+        }
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("client-a").getStatus());
+
+        assertEquals(HttpStatus.OK.value(), send("client-b").getStatus());
+
+        // Without a client id the remote address identifies the client.
+        final var request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.7");
+        final var response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals("2", response.getHeader(RandomRequestLimitInterceptor.REMAINING_HEADER));
+    }
+
+    @Test
+    void testAsyncDispatchIsNotCounted() {
+        for (var i = 0; i < 3; i++) {
+            send("client-a");
+        }
+        final var request = new MockHttpServletRequest();
+        request.addHeader(RandomRequestLimitInterceptor.CLIENT_ID_HEADER, "client-a");
+        request.setDispatcherType(DispatcherType.ASYNC);
+        final var response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertNull(response.getHeader(RandomRequestLimitInterceptor.LIMIT_HEADER));
+    }
+
+    @Test
+    void testConcurrentRequestsNeverExceedTheLimitPerWindow() throws Exception {
+        final var limit = 25;
+        final var limited = new RandomRequestLimitInterceptor(limit, WINDOW, clock::get);
+        final var threads = 16;
+        final var perThread = 200;
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (var window = 0; window < 3; window++) {
+                final var admitted = new AtomicInteger();
+                final var start = new CountDownLatch(1);
+                final var futures = new ArrayList<Future<?>>();
+                for (var t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (var i = 0; i < perThread; i++) {
+                            final var request = new MockHttpServletRequest();
+                            request.addHeader(RandomRequestLimitInterceptor.CLIENT_ID_HEADER, "client-a");
+                            if (limited.preHandle(request, new MockHttpServletResponse(), null)) {
+                                admitted.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (final var future : futures) {
+                    future.get();
+                }
+
+                assertEquals(limit, admitted.get());
+                advance(WINDOW);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testIdleClientsAreSweptAtMostOncePerWindow() {
+        advance(Duration.ofSeconds(5));
+        for (var i = 0; i < 12_000; i++) {
+            send("rotating-" + i);
+        }
+        for (var i = 0; i < 3; i++) {
+            send("busy");
+        }
+
+        // 31s: one window since construction, so this request sweeps, but every client is still inside its window.
+        advance(Duration.ofSeconds(26));
+        send("probe");
+        assertEquals(12_002, interceptor.trackedClients());
+
+        // 40s: the rotating clients and busy have gone idle, but the last sweep was less than a window ago.
+        advance(Duration.ofSeconds(9));
+        send("probe");
+        assertEquals(12_002, interceptor.trackedClients());
+
+        // 61s: the next sweep drops every idle client and keeps the one still inside its window.
+        advance(Duration.ofSeconds(21));
+        send("probe");
+        assertEquals(1, interceptor.trackedClients());
+        assertEquals("0", send("probe").getHeader(RandomRequestLimitInterceptor.REMAINING_HEADER));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("probe").getStatus());
+        assertEquals("2", send("busy").getHeader(RandomRequestLimitInterceptor.REMAINING_HEADER));
+    }
+
+    private MockHttpServletResponse send(String clientId) {
+        final var request = new MockHttpServletRequest();
+        request.addHeader(RandomRequestLimitInterceptor.CLIENT_ID_HEADER, clientId);
+        final var response = new MockHttpServletResponse();
+        final var admitted = interceptor.preHandle(request, response, null);
+        assertEquals(admitted, response.getStatus() == HttpStatus.OK.value());
+        if (!admitted) {
+            assertFalse(response.getHeader(HttpHeaders.RETRY_AFTER).isEmpty());
+        }
+        return response;
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}